@@ -0,0 +1,48 @@
+package benchmarks;
+
+import algorithms.BoyerMooreMajorityVote;
+import cli.BenchmarkRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Candidate pass alone, so the histogram engine does not hide the kernel on small value domains.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CandidateKernelBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"Random", "Sorted", "ReverseSorted", "NearlySorted"})
+    public String distribution;
+
+    @Param({"BRANCHING", "BRANCH_FREE"})
+    public BoyerMooreMajorityVote.CandidateKernel kernel;
+
+    private int[] array;
+
+    @Setup
+    public void setUp() {
+        array = BenchmarkRunner.generateArray(size, distribution);
+    }
+
+    @Benchmark
+    public int findCandidate() {
+        return BoyerMooreMajorityVote.findCandidate(array, kernel);
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import algorithms.EqualityKernel;
+import algorithms.EqualityKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Requires mvn -Pjmh,vector package on JDK 17+; vectorBits=0 is the scalar baseline.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class EqualityKernelBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"0", "128", "256", "512"})
+    public int vectorBits;
+
+    private int[] array;
+    private int candidate;
+    private EqualityKernel kernel;
+
+    @Setup
+    public void setUp() {
+        kernel = vectorBits == 0 ? EqualityKernels.scalar() : EqualityKernels.forVectorBits(vectorBits);
+
+        Random random = new Random(42);
+        candidate = 7;
+        array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt(10) < 6 ? candidate : random.nextInt(100);
+        }
+        // Only the ends hold a sentinel, so the index scans cover the whole array.
+        array[0] = -1;
+        array[size - 1] = -1;
+    }
+
+    @Benchmark
+    public int countEqual() {
+        return kernel.countEqual(array, 0, array.length, candidate);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return kernel.indexOf(array, 1, array.length, -1);
+    }
+
+    @Benchmark
+    public int lastIndexOf() {
+        return kernel.lastIndexOf(array, 0, array.length - 1, -1);
+    }
+}
@@ -0,0 +1,122 @@
+package benchmarks;
+
+import algorithms.BoyerMooreMajorityVote;
+import cli.BenchmarkRunner;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+// Runs MajorityVoteBenchmark (or the benchmarks named on the command line) and exports average
+// times to jmh_<method>_avgtime.csv/.json. These keep the first six performance_analysis.csv columns
+// but not its latency percentiles, which AverageTime mode does not measure, hence the distinct name.
+public class JmhBenchmarkRunner {
+
+    private static final String RAW_JSON = "jmh_raw_results.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(MajorityVoteBenchmark.class.getSimpleName());
+        }
+        Options options = builder
+            .resultFormat(ResultFormatType.JSON)
+            .result(RAW_JSON)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        for (String method : new String[]{"findMajorityElement", "findMajorityElementUntracked"}) {
+            List<Row> rows = collectRows(results, method);
+            if (!rows.isEmpty()) {
+                writeCsv("jmh_" + method + "_avgtime.csv", rows);
+                writeJson("jmh_" + method + "_avgtime.json", rows);
+            }
+        }
+    }
+
+    private static List<Row> collectRows(Collection<RunResult> results, String method) {
+        List<Row> rows = new ArrayList<>();
+
+        for (RunResult result : results) {
+            String label = result.getParams().getBenchmark();
+            if (!label.endsWith("." + method) || result.getParams().getMode() != Mode.AverageTime) {
+                continue;
+            }
+
+            int size = Integer.parseInt(result.getParams().getParam("size"));
+            String distribution = result.getParams().getParam("distribution");
+
+            // generateArray is seeded, so this is the array JMH timed and one tracked call supplies its counts.
+            BoyerMooreMajorityVote.Result counted =
+                BoyerMooreMajorityVote.findMajorityElement(BenchmarkRunner.generateArray(size, distribution));
+
+            rows.add(new Row(size, distribution,
+                counted.metrics.getComparisonCount(),
+                counted.metrics.getArrayAccessCount(),
+                counted.metrics.getAssignmentCount(),
+                result.getPrimaryResult().getScore()));
+        }
+
+        rows.sort((a, b) -> a.size != b.size ? Integer.compare(a.size, b.size) : a.distribution.compareTo(b.distribution));
+        return rows;
+    }
+
+    private static void writeCsv(String fileName, List<Row> rows) throws IOException {
+        try (FileWriter writer = new FileWriter(fileName)) {
+            writer.write("ArraySize,Distribution,Comparisons,ArrayAccesses,Assignments,ExecutionTimeMs\n");
+            for (Row row : rows) {
+                writer.write(String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%.6f\n",
+                    row.size, row.distribution, row.comparisons, row.arrayAccesses, row.assignments, row.executionTimeMs));
+            }
+        }
+    }
+
+    private static void writeJson(String fileName, List<Row> rows) throws IOException {
+        try (FileWriter writer = new FileWriter(fileName)) {
+            writer.write("[\n");
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                writer.write(String.format(Locale.ROOT,
+                    "  {\"ArraySize\": %d, \"Distribution\": \"%s\", \"Comparisons\": %d, \"ArrayAccesses\": %d, "
+                        + "\"Assignments\": %d, \"ExecutionTimeMs\": %.6f}%s\n",
+                    row.size, row.distribution, row.comparisons, row.arrayAccesses, row.assignments,
+                    row.executionTimeMs, i + 1 < rows.size() ? "," : ""));
+            }
+            writer.write("]\n");
+        }
+    }
+
+    private static class Row {
+        final int size;
+        final String distribution;
+        final long comparisons;
+        final long arrayAccesses;
+        final long assignments;
+        final double executionTimeMs;
+
+        Row(int size, String distribution, long comparisons, long arrayAccesses, long assignments,
+            double executionTimeMs) {
+            this.size = size;
+            this.distribution = distribution;
+            this.comparisons = comparisons;
+            this.arrayAccesses = arrayAccesses;
+            this.assignments = assignments;
+            this.executionTimeMs = executionTimeMs;
+        }
+    }
+}
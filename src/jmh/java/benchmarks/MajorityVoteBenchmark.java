@@ -0,0 +1,50 @@
+package benchmarks;
+
+import algorithms.BoyerMooreMajorityVote;
+import cli.BenchmarkRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MajorityVoteBenchmark {
+
+    @Param({"100", "500", "1000", "5000", "10000", "25000", "50000", "100000"})
+    public int size;
+
+    @Param({"Random", "Sorted", "ReverseSorted", "NearlySorted"})
+    public String distribution;
+
+    private int[] array;
+
+    @Setup
+    public void setUp() {
+        array = BenchmarkRunner.generateArray(size, distribution);
+    }
+
+    @Benchmark
+    public void findMajorityElement(Blackhole blackhole) {
+        blackhole.consume(BoyerMooreMajorityVote.findMajorityElement(array));
+    }
+
+    @Benchmark
+    public void findMajorityElementUntracked(Blackhole blackhole) {
+        blackhole.consume(BoyerMooreMajorityVote.findMajorityElementUntracked(array));
+    }
+}
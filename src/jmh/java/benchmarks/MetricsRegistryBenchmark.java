@@ -0,0 +1,56 @@
+package benchmarks;
+
+import algorithms.BoyerMooreMajorityVote;
+import metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Hot-path cost of MetricsRegistry: recordCall alone, and a tiny untracked call with the global
+// registry on and off. Add -t 4 to measure recording threads sharing one registry.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MetricsRegistryBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final int[] array = {3, 1, 3, 3, 2, 3, 3, 4, 3, 3, 5, 3, 6, 3, 3, 7};
+    private long nanos;
+
+    @Setup
+    public void setUp() {
+        MetricsRegistry.GLOBAL.setEnabled(enabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MetricsRegistry.GLOBAL.setEnabled(false);
+    }
+
+    @Benchmark
+    public void recordCall() {
+        registry.recordCall(1000, true, nanos++ & 0xFFFFF);
+    }
+
+    @Benchmark
+    public int untrackedCall() {
+        return BoyerMooreMajorityVote.findMajorityElementUntracked(array).lastIndex;
+    }
+}
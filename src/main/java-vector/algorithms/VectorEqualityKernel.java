@@ -0,0 +1,190 @@
+package algorithms;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Explicit SIMD equality scans; compiled only with -Pvector and loaded reflectively by EqualityKernels.
+// Each width is its own class with a static final species: C2 only intrinsifies the Vector API when the
+// species is a compile-time constant, and an instance field is not.
+abstract class VectorEqualityKernel implements EqualityKernel {
+
+    static EqualityKernel create() {
+        return create(IntVector.SPECIES_PREFERRED.vectorBitSize());
+    }
+
+    static EqualityKernel create(int bits) {
+        switch (bits) {
+            case 64:
+                return new Bits64();
+            case 128:
+                return new Bits128();
+            case 256:
+                return new Bits256();
+            case 512:
+                return new Bits512();
+            default:
+                throw new IllegalArgumentException("Unsupported vector width: " + bits);
+        }
+    }
+
+    private static final class Bits64 extends VectorEqualityKernel {
+        private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_64;
+
+        @Override
+        public int countEqual(int[] array, int from, int to, int value) {
+            return countEqual(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public int indexOf(int[] array, int from, int to, int value) {
+            return indexOf(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public int lastIndexOf(int[] array, int from, int to, int value) {
+            return lastIndexOf(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public String name() {
+            return "vector-64";
+        }
+    }
+
+    private static final class Bits128 extends VectorEqualityKernel {
+        private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_128;
+
+        @Override
+        public int countEqual(int[] array, int from, int to, int value) {
+            return countEqual(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public int indexOf(int[] array, int from, int to, int value) {
+            return indexOf(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public int lastIndexOf(int[] array, int from, int to, int value) {
+            return lastIndexOf(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public String name() {
+            return "vector-128";
+        }
+    }
+
+    private static final class Bits256 extends VectorEqualityKernel {
+        private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_256;
+
+        @Override
+        public int countEqual(int[] array, int from, int to, int value) {
+            return countEqual(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public int indexOf(int[] array, int from, int to, int value) {
+            return indexOf(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public int lastIndexOf(int[] array, int from, int to, int value) {
+            return lastIndexOf(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public String name() {
+            return "vector-256";
+        }
+    }
+
+    private static final class Bits512 extends VectorEqualityKernel {
+        private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_512;
+
+        @Override
+        public int countEqual(int[] array, int from, int to, int value) {
+            return countEqual(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public int indexOf(int[] array, int from, int to, int value) {
+            return indexOf(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public int lastIndexOf(int[] array, int from, int to, int value) {
+            return lastIndexOf(SPECIES, array, from, to, value);
+        }
+
+        @Override
+        public String name() {
+            return "vector-512";
+        }
+    }
+
+    // The helpers below are inlined into each subclass, where species is a constant.
+
+    static int countEqual(VectorSpecies<Integer> species, int[] array, int from, int to, int value) {
+        int lanes = species.length();
+        int upper = from + species.loopBound(to - from);
+        IntVector target = IntVector.broadcast(species, value);
+        // Per-lane counters: a true mask lane is -1, so subtracting it counts a match.
+        IntVector counts = IntVector.zero(species);
+
+        int i = from;
+        for (; i < upper; i += lanes) {
+            VectorMask<Integer> equal = IntVector.fromArray(species, array, i).eq(target);
+            counts = counts.sub(equal.toVector().reinterpretAsInts());
+        }
+
+        int count = counts.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            if (array[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int indexOf(VectorSpecies<Integer> species, int[] array, int from, int to, int value) {
+        int lanes = species.length();
+        int upper = from + species.loopBound(to - from);
+        IntVector target = IntVector.broadcast(species, value);
+
+        int i = from;
+        for (; i < upper; i += lanes) {
+            VectorMask<Integer> equal = IntVector.fromArray(species, array, i).eq(target);
+            if (equal.anyTrue()) {
+                return i + equal.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOf(VectorSpecies<Integer> species, int[] array, int from, int to, int value) {
+        int lanes = species.length();
+        IntVector target = IntVector.broadcast(species, value);
+
+        int i = to - lanes;
+        for (; i >= from; i -= lanes) {
+            VectorMask<Integer> equal = IntVector.fromArray(species, array, i).eq(target);
+            if (equal.anyTrue()) {
+                return i + equal.lastTrue();
+            }
+        }
+        for (int j = Math.min(i + lanes, to) - 1; j >= from; j--) {
+            if (array[j] == value) {
+                return j;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,7 +1,15 @@
 package algorithms;
 
+import metrics.MetricsRegistry;
+import metrics.NoOpTracker;
+import metrics.OperationTracker;
 import metrics.PerformanceTracker;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Objects;
+
 public class BoyerMooreMajorityVote {
 
     public static class Result {
@@ -18,30 +26,386 @@ public class BoyerMooreMajorityVote {
         }
     }
 
+    // Candidate-pass implementations for the untracked path.
+    public enum CandidateKernel {
+        // Three-way branch per element; fastest when runs are long and the branch predicts well.
+        BRANCHING,
+        // Arithmetic updates with no data-dependent branch, unrolled by four.
+        BRANCH_FREE
+    }
+
+    private static final Result NO_MAJORITY = new Result(-1, -1, -1, null);
+
+    // Inputs at least this long whose sampled value range fits HISTOGRAM_MAX_DOMAIN use dense counting.
+    private static final int HISTOGRAM_MIN_LENGTH = 4096;
+    private static final int HISTOGRAM_MAX_DOMAIN = 1 << 16;
+    private static final int HISTOGRAM_SAMPLES = 64;
+    // Verification granularity for the untracked path: large enough for SIMD, small enough to reject early.
+    private static final int VERIFY_BLOCK = 4096;
+
     public static Result findMajorityElement(int[] array) {
-        PerformanceTracker tracker = new PerformanceTracker();
+        return findMajorityElement(array, new PerformanceTracker());
+    }
+
+    public static Result findMajorityElement(int[] array, OperationTracker tracker) {
+        tracker.startTimer();
+        Result result = boyerMoore(array, tracker);
+        tracker.stopTimer();
+        report(array == null ? 0 : array.length, result, tracker);
+        return result;
+    }
+
+    // Opt-in selector: inputs whose sampled values span a small range use HistogramMajorityVote, which is
+    // faster there but allocates three domain-sized int arrays (up to 768 KB) per call.
+    public static Result findMajorityElementAuto(int[] array) {
+        return findMajorityElementAuto(array, new PerformanceTracker());
+    }
+
+    public static Result findMajorityElementAuto(int[] array, OperationTracker tracker) {
+        tracker.startTimer();
+        Result result = tryHistogram(array, tracker);
+        if (result == null) {
+            result = boyerMoore(array, tracker);
+        }
+        tracker.stopTimer();
+        report(array == null ? 0 : array.length, result, tracker);
+        return result;
+    }
+
+    // Majority of array[offset, offset + length); indices in the Result are relative to offset.
+    public static Result findMajorityElement(int[] array, int offset, int length) {
+        return findMajorityElement(array, offset, length, new PerformanceTracker());
+    }
+
+    public static Result findMajorityElement(int[] array, int offset, int length, OperationTracker tracker) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        PerformanceTracker metrics = tracker instanceof PerformanceTracker ? (PerformanceTracker) tracker : null;
+        MajorityBatch.MutableResult out = new MajorityBatch.MutableResult();
+
+        tracker.startTimer();
+        MajorityBatch.locate(array, offset, length, tracker, out);
+        tracker.stopTimer();
+        Result result = toResult(out, metrics);
+        report(length, result, tracker);
+        return result;
+    }
+
+    // Buffer entry points use their own name so findMajorityElement(null) stays unambiguous for callers.
+    // Reads buffer[position, limit) in place without moving the position; indices are relative to position.
+    public static Result findMajorityElementInBuffer(IntBuffer buffer) {
+        return findMajorityElementInBuffer(buffer, new PerformanceTracker());
+    }
+
+    public static Result findMajorityElementInBuffer(IntBuffer buffer, OperationTracker tracker) {
+        PerformanceTracker metrics = tracker instanceof PerformanceTracker ? (PerformanceTracker) tracker : null;
+        MajorityBatch.MutableResult out = new MajorityBatch.MutableResult();
+
+        tracker.startTimer();
+        MajorityBatch.locate(buffer, buffer.position(), buffer.remaining(), tracker, out);
+        tracker.stopTimer();
+        Result result = toResult(out, metrics);
+        report(buffer.remaining(), result, tracker);
+        return result;
+    }
+
+    // Interprets buffer[position, limit) as ints in the given byte order, in place (direct buffers stay off-heap).
+    public static Result findMajorityElementInBuffer(ByteBuffer buffer, ByteOrder order) {
+        return findMajorityElementInBuffer(buffer, order, new PerformanceTracker());
+    }
+
+    public static Result findMajorityElementInBuffer(ByteBuffer buffer, ByteOrder order, OperationTracker tracker) {
+        if (buffer.remaining() % Integer.BYTES != 0) {
+            throw new IllegalArgumentException("Buffer holds " + buffer.remaining() + " bytes, not a whole number of ints");
+        }
+        IntBuffer ints = buffer.duplicate().order(order).asIntBuffer();
+        return findMajorityElementInBuffer(ints, tracker);
+    }
+
+    private static Result toResult(MajorityBatch.MutableResult out, PerformanceTracker metrics) {
+        return out.hasMajority() ? new Result(out.majorityElement, out.firstIndex, out.lastIndex, metrics)
+            : new Result(-1, -1, -1, metrics);
+    }
+
+    // Declared ordering of the input. ASCENDING and DESCENDING are trusted by callers, not checked.
+    public enum InputOrder {
+        UNKNOWN,
+        ASCENDING,
+        DESCENDING
+    }
+
+    public static Result findMajorityElement(int[] array, InputOrder order) {
+        return findMajorityElement(array, order, new PerformanceTracker());
+    }
+
+    public static Result findMajorityElement(int[] array, InputOrder order, OperationTracker tracker) {
+        if (order == InputOrder.UNKNOWN) {
+            return findMajorityElement(array, tracker);
+        }
         tracker.startTimer();
+        Result result = sortedMajority(array, order == InputOrder.DESCENDING, tracker);
+        tracker.stopTimer();
+        report(array == null ? 0 : array.length, result, tracker);
+        return result;
+    }
+
+    public static Result findMajoritySorted(int[] array) {
+        return findMajoritySorted(array, new PerformanceTracker());
+    }
+
+    // O(log n) for sorted input in either direction; the direction is read from the two ends.
+    public static Result findMajoritySorted(int[] array, OperationTracker tracker) {
+        tracker.startTimer();
+        boolean descending = array != null && array.length > 1 && array[0] > array[array.length - 1];
+        Result result = sortedMajority(array, descending, tracker);
+        tracker.stopTimer();
+        report(array == null ? 0 : array.length, result, tracker);
+        return result;
+    }
+
+    // Opt-in check: at most one pass, returning as soon as the input breaks the direction set by
+    // its first unequal neighbours. Unsorted input is usually rejected within a few elements.
+    public static InputOrder detectOrder(int[] array) {
+        if (array == null) {
+            return InputOrder.UNKNOWN;
+        }
+        int n = array.length;
+        int i = 1;
+        while (i < n && array[i - 1] == array[i]) {
+            i++;
+        }
+        if (i >= n || array[i - 1] < array[i]) {
+            for (; i < n; i++) {
+                if (array[i - 1] > array[i]) {
+                    return InputOrder.UNKNOWN;
+                }
+            }
+            return InputOrder.ASCENDING;
+        }
+        for (; i < n; i++) {
+            if (array[i - 1] < array[i]) {
+                return InputOrder.UNKNOWN;
+            }
+        }
+        return InputOrder.DESCENDING;
+    }
 
+    // In sorted input equal values are contiguous, so only array[n/2] can hold a majority;
+    // two binary searches give its first and last index and therefore its count.
+    private static Result sortedMajority(int[] array, boolean descending, OperationTracker tracker) {
+        PerformanceTracker metrics = tracker instanceof PerformanceTracker ? (PerformanceTracker) tracker : null;
         if (array == null || array.length == 0) {
-            tracker.stopTimer();
-            return new Result(-1, -1, -1, tracker);
+            return new Result(-1, -1, -1, metrics);
         }
 
-        int candidate = findCandidate(array, tracker);
+        int n = array.length;
+        int middle = n / 2;
+        tracker.incrementArrayAccessCount();
+        int candidate = array[middle];
+        tracker.incrementAssignmentCount();
+
+        // The run containing the middle starts in [0, middle] and ends in [middle, n).
+        int first = searchRunBoundary(array, 0, middle, candidate, descending, false, tracker);
+        int end = searchRunBoundary(array, middle + 1, n, candidate, descending, true, tracker);
 
-        if (!verifyCandidate(array, candidate, tracker)) {
-            tracker.stopTimer();
-            return new Result(-1, -1, -1, tracker);
+        tracker.incrementComparisonCount();
+        if (end - first > n / 2) {
+            return new Result(candidate, first, end - 1, metrics);
         }
+        return new Result(-1, -1, -1, metrics);
+    }
+
+    // First index in [low, high) that is past the candidate's run boundary: not ordered before the
+    // candidate (start of the run), or ordered after it when pastRun is set (end of the run).
+    private static int searchRunBoundary(int[] array, int low, int high, int candidate, boolean descending,
+                                         boolean pastRun, OperationTracker tracker) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            tracker.incrementArrayAccessCount();
+            int value = array[mid];
+            int order = descending ? Integer.compare(candidate, value) : Integer.compare(value, candidate);
+            tracker.incrementComparisonCount();
+            if (order < 0 || (pastRun && order == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+            tracker.incrementAssignmentCount();
+        }
+        return low;
+    }
+
+    private static Result boyerMoore(int[] array, OperationTracker tracker) {
+        PerformanceTracker metrics = tracker instanceof PerformanceTracker ? (PerformanceTracker) tracker : null;
 
+        if (array == null || array.length == 0) {
+            return new Result(-1, -1, -1, metrics);
+        }
+
+        int candidate = findCandidate(array, tracker);
+
+        // Single forward scan: locate the first occurrence, then keep counting only
+        // until the majority is confirmed or can no longer be reached.
         int firstIndex = findFirstIndex(array, candidate, tracker);
-        int lastIndex = findLastIndex(array, candidate, tracker);
+        int confirmedIndex = verifyCandidate(array, candidate, firstIndex, tracker);
 
-        tracker.stopTimer();
-        return new Result(candidate, firstIndex, lastIndex, tracker);
+        if (confirmedIndex == -1) {
+            return new Result(-1, -1, -1, metrics);
+        }
+
+        int lastIndex = findLastIndex(array, candidate, confirmedIndex, tracker);
+        return new Result(candidate, firstIndex, lastIndex, metrics);
     }
 
-    private static int findCandidate(int[] array, PerformanceTracker tracker) {
+    // Samples evenly spaced values and widens the sampled range to absorb unsampled outliers;
+    // returns null when the range is too wide or the histogram pass meets a value outside it.
+    private static Result tryHistogram(int[] array, OperationTracker tracker) {
+        if (array == null || array.length < HISTOGRAM_MIN_LENGTH) {
+            return null;
+        }
+
+        int min = array[0];
+        int max = array[0];
+        int step = array.length / HISTOGRAM_SAMPLES;
+        for (int i = step; i < array.length; i += step) {
+            tracker.incrementArrayAccessCount();
+            tracker.incrementComparisonCount();
+            tracker.incrementComparisonCount();
+            min = Math.min(min, array[i]);
+            max = Math.max(max, array[i]);
+        }
+
+        long span = (long) max - min + 1;
+        long low = Math.max(Integer.MIN_VALUE, min - span);
+        long high = Math.min(Integer.MAX_VALUE, max + span);
+
+        tracker.incrementComparisonCount();
+        if (high - low + 1 > Math.min(HISTOGRAM_MAX_DOMAIN, array.length)) {
+            return null;
+        }
+        return HistogramMajorityVote.tryFindMajorityElement(array, (int) low, (int) high, tracker);
+    }
+
+    // Production path: no tracker, no counting, metrics is null, and nothing allocated but a found Result.
+    public static Result findMajorityElementUntracked(int[] array) {
+        return findMajorityElementUntracked(array, CandidateKernel.BRANCHING);
+    }
+
+    public static Result findMajorityElementUntracked(int[] array, CandidateKernel candidateKernel) {
+        Result result = untracked(array, candidateKernel);
+        report(array == null ? 0 : array.length, result, NoOpTracker.INSTANCE);
+        return result;
+    }
+
+    private static Result untracked(int[] array, CandidateKernel candidateKernel) {
+        if (array == null || array.length == 0) {
+            return NO_MAJORITY;
+        }
+
+        int candidate = findCandidate(array, candidateKernel);
+
+        int n = array.length;
+        int half = n / 2;
+        int maxMisses = n - half - 1;
+        EqualityKernel kernel = EqualityKernels.DEFAULT;
+
+        int firstIndex = kernel.indexOf(array, 0, n, candidate);
+        if (firstIndex > maxMisses) {
+            return NO_MAJORITY;
+        }
+
+        // Count in blocks so an unreachable majority is still rejected early.
+        int occurrences = 0;
+        int confirmedBlock = -1;
+        for (int from = firstIndex; from < n; from += VERIFY_BLOCK) {
+            int to = n - from > VERIFY_BLOCK ? from + VERIFY_BLOCK : n;
+            occurrences += kernel.countEqual(array, from, to, candidate);
+            if (occurrences > half) {
+                confirmedBlock = from;
+                break;
+            }
+            if (to - occurrences > maxMisses) {
+                return NO_MAJORITY;
+            }
+        }
+        if (confirmedBlock == -1) {
+            return NO_MAJORITY;
+        }
+
+        int lastIndex = kernel.lastIndexOf(array, confirmedBlock, n, candidate);
+        return new Result(candidate, firstIndex, lastIndex, null);
+    }
+
+    // Feeds MetricsRegistry.GLOBAL when enabled. Only calls already timed by a PerformanceTracker
+    // reach the duration histogram; the others cost just the counter updates.
+    private static void report(int elements, Result result, OperationTracker tracker) {
+        MetricsRegistry registry = MetricsRegistry.GLOBAL;
+        if (registry.isEnabled()) {
+            long nanos = tracker instanceof PerformanceTracker ? ((PerformanceTracker) tracker).getExecutionTime() : -1;
+            registry.recordCall(elements, result.firstIndex >= 0, nanos);
+        }
+    }
+
+    // Boyer-Moore candidate of a non-empty array; every kernel returns the same candidate.
+    public static int findCandidate(int[] array, CandidateKernel kernel) {
+        if (array == null || array.length == 0) {
+            throw new IllegalArgumentException("array must not be empty");
+        }
+        return kernel == CandidateKernel.BRANCH_FREE ? findCandidateBranchFree(array) : findCandidateBranching(array);
+    }
+
+    private static int findCandidateBranching(int[] array) {
+        int candidate = array[0];
+        int count = 1;
+        for (int i = 1; i < array.length; i++) {
+            int current = array[i];
+            if (count == 0) {
+                candidate = current;
+                count = 1;
+            } else if (candidate == current) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+        return candidate;
+    }
+
+    // Both updates read only the previous (candidate, count), so each compiles to a select rather than a
+    // branch and the loop-carried chain stays short: a reset when count == 0, otherwise count +/- 1.
+    private static int findCandidateBranchFree(int[] array) {
+        int candidate = array[0];
+        int count = 1;
+        int n = array.length;
+        int i = 1;
+        for (; i + 3 < n; i += 4) {
+            int x0 = array[i];
+            int x1 = array[i + 1];
+            int x2 = array[i + 2];
+            int x3 = array[i + 3];
+
+            int step = candidate == x0 ? 1 : -1;
+            candidate = count == 0 ? x0 : candidate;
+            count = count == 0 ? 1 : count + step;
+            step = candidate == x1 ? 1 : -1;
+            candidate = count == 0 ? x1 : candidate;
+            count = count == 0 ? 1 : count + step;
+            step = candidate == x2 ? 1 : -1;
+            candidate = count == 0 ? x2 : candidate;
+            count = count == 0 ? 1 : count + step;
+            step = candidate == x3 ? 1 : -1;
+            candidate = count == 0 ? x3 : candidate;
+            count = count == 0 ? 1 : count + step;
+        }
+        for (; i < n; i++) {
+            int x = array[i];
+            int step = candidate == x ? 1 : -1;
+            candidate = count == 0 ? x : candidate;
+            count = count == 0 ? 1 : count + step;
+        }
+        return candidate;
+    }
+
+    private static int findCandidate(int[] array, OperationTracker tracker) {
         int candidate = array[0];
         tracker.incrementArrayAccessCount();
         tracker.incrementAssignmentCount();
@@ -75,42 +439,68 @@ public class BoyerMooreMajorityVote {
         return candidate;
     }
 
-    private static boolean verifyCandidate(int[] array, int candidate, PerformanceTracker tracker) {
-        int count = 0;
-        tracker.incrementAssignmentCount();
-
+    private static int findFirstIndex(int[] array, int candidate, OperationTracker tracker) {
         for (int i = 0; i < array.length; i++) {
             tracker.incrementArrayAccessCount();
             tracker.incrementComparisonCount();
             if (array[i] == candidate) {
-                count++;
-                tracker.incrementAssignmentCount();
+                return i;
             }
         }
+        return -1;
+    }
+
+    // Returns the index at which the count first exceeds n/2, or -1 once that is impossible.
+    private static int verifyCandidate(int[] array, int candidate, int firstIndex, OperationTracker tracker) {
+        int half = array.length / 2;
+        int maxMisses = array.length - half - 1;
+
+        int count = 1;
+        tracker.incrementAssignmentCount();
+        int misses = firstIndex;
+        tracker.incrementAssignmentCount();
 
         tracker.incrementComparisonCount();
-        return count > array.length / 2;
-    }
+        if (misses > maxMisses) {
+            return -1;
+        }
+        tracker.incrementComparisonCount();
+        if (count > half) {
+            return firstIndex;
+        }
 
-    private static int findFirstIndex(int[] array, int candidate, PerformanceTracker tracker) {
-        for (int i = 0; i < array.length; i++) {
+        for (int i = firstIndex + 1; i < array.length; i++) {
             tracker.incrementArrayAccessCount();
             tracker.incrementComparisonCount();
             if (array[i] == candidate) {
-                return i;
+                count++;
+                tracker.incrementAssignmentCount();
+                tracker.incrementComparisonCount();
+                if (count > half) {
+                    return i;
+                }
+            } else {
+                misses++;
+                tracker.incrementAssignmentCount();
+                tracker.incrementComparisonCount();
+                if (misses > maxMisses) {
+                    return -1;
+                }
             }
         }
+
         return -1;
     }
 
-    private static int findLastIndex(int[] array, int candidate, PerformanceTracker tracker) {
-        for (int i = array.length - 1; i >= 0; i--) {
+    // Backward scan stops at or before confirmedIndex, which is known to hold the candidate.
+    private static int findLastIndex(int[] array, int candidate, int confirmedIndex, OperationTracker tracker) {
+        for (int i = array.length - 1; i > confirmedIndex; i--) {
             tracker.incrementArrayAccessCount();
             tracker.incrementComparisonCount();
             if (array[i] == candidate) {
                 return i;
             }
         }
-        return -1;
+        return confirmedIndex;
     }
 }
@@ -0,0 +1,36 @@
+package algorithms;
+
+public final class CandidateSummary {
+
+    public static final CandidateSummary EMPTY = new CandidateSummary(0, 0);
+
+    public final int candidate;
+    public final long count;
+
+    public CandidateSummary(int candidate, long count) {
+        this.candidate = candidate;
+        this.count = count;
+    }
+
+    // Boyer-Moore pairwise combine: equal candidates add, different candidates cancel.
+    public CandidateSummary merge(CandidateSummary other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        if (candidate == other.candidate) {
+            return new CandidateSummary(candidate, count + other.count);
+        }
+        if (count >= other.count) {
+            return new CandidateSummary(candidate, count - other.count);
+        }
+        return new CandidateSummary(other.candidate, other.count - count);
+    }
+
+    @Override
+    public String toString() {
+        return "CandidateSummary{candidate=" + candidate + ", count=" + count + "}";
+    }
+}
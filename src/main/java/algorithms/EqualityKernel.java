@@ -0,0 +1,15 @@
+package algorithms;
+
+// Equality scans over array[from, to) used by the verification pass.
+public interface EqualityKernel {
+
+    int countEqual(int[] array, int from, int to, int value);
+
+    // Index of the first element equal to value, or -1.
+    int indexOf(int[] array, int from, int to, int value);
+
+    // Index of the last element equal to value, or -1.
+    int lastIndexOf(int[] array, int from, int to, int value);
+
+    String name();
+}
@@ -0,0 +1,45 @@
+package algorithms;
+
+import java.lang.reflect.InvocationTargetException;
+
+// Picks the Vector API kernel when it was compiled in (-Pvector) and jdk.incubator.vector is
+// resolved at runtime (--add-modules jdk.incubator.vector); otherwise the scalar loops.
+public final class EqualityKernels {
+
+    private static final String VECTOR_KERNEL = "algorithms.VectorEqualityKernel";
+
+    // -Dmajority.vector=false forces the scalar kernel for A/B comparisons.
+    public static final EqualityKernel DEFAULT = Boolean.parseBoolean(System.getProperty("majority.vector", "true"))
+        ? loadVectorKernel() : ScalarEqualityKernel.INSTANCE;
+
+    private EqualityKernels() {
+    }
+
+    public static EqualityKernel scalar() {
+        return ScalarEqualityKernel.INSTANCE;
+    }
+
+    public static boolean isVectorized() {
+        return DEFAULT != ScalarEqualityKernel.INSTANCE;
+    }
+
+    // Kernel for a specific vector width, e.g. 128, 256 or 512 bits.
+    public static EqualityKernel forVectorBits(int bits) {
+        try {
+            return (EqualityKernel) Class.forName(VECTOR_KERNEL).getDeclaredMethod("create", int.class).invoke(null, bits);
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("Unsupported vector width: " + bits, e.getCause());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new UnsupportedOperationException("Vector kernel unavailable: build with -Pvector and run with "
+                + "--add-modules jdk.incubator.vector", e);
+        }
+    }
+
+    private static EqualityKernel loadVectorKernel() {
+        try {
+            return (EqualityKernel) Class.forName(VECTOR_KERNEL).getDeclaredMethod("create").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return ScalarEqualityKernel.INSTANCE;
+        }
+    }
+}
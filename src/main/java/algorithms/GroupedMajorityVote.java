@@ -0,0 +1,502 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Per-key majority over two parallel columns without splitting rows by key: one pass keeps a
+// Boyer-Moore (candidate, count) per key in an open-addressing table, a second pass counts only each
+// key's candidate. Row indices in the result refer to positions in the input columns.
+public class GroupedMajorityVote {
+
+    public static final class Groups {
+        // Group i is keys[i]; groups are ordered by the first row of their key.
+        public final int[] keys;
+        public final int[] majority;
+        public final int[] firstRow;
+        public final int[] lastRow;
+        public final int[] rowCount;
+        private IntIntHashMap index;
+
+        Groups(int[] keys, int[] majority, int[] firstRow, int[] lastRow, int[] rowCount, IntIntHashMap index) {
+            this.keys = keys;
+            this.majority = majority;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.rowCount = rowCount;
+            this.index = index;
+        }
+
+        public int size() {
+            return keys.length;
+        }
+
+        public boolean hasMajority(int group) {
+            return firstRow[group] >= 0;
+        }
+
+        // Group index of key, or -1 if it does not occur.
+        public synchronized int indexOf(int key) {
+            if (index == null) {
+                index = new IntIntHashMap(keys.length);
+                for (int group = 0; group < keys.length; group++) {
+                    index.put(keys[group], group);
+                }
+            }
+            return index.get(key, -1);
+        }
+    }
+
+    public static Groups findMajorityByKey(int[] keys, int[] values) {
+        checkColumns(keys, values);
+        int[] rowSlots = new int[keys.length];
+        Partition partition = new Partition(Math.min(keys.length, 1 << 16));
+        partition.vote(keys, values, rowSlots, 0, keys.length);
+        partition.verify(values, rowSlots, 0, keys.length);
+        return partition.toGroups(keys);
+    }
+
+    public static Groups findMajorityByKeyParallel(int[] keys, int[] values) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return findMajorityByKeyParallel(keys, values, pool, pool.getParallelism());
+    }
+
+    // Rows are split into contiguous ranges, each voted and later verified by one task, so every row is
+    // read once per pass. In between, the ranges' per-key (candidate, count) pairs are merged with the
+    // CandidateSummary rule by key-hash shard, each shard visiting only its own keys of every range in
+    // row order. Shards are then interleaved by first row.
+    public static Groups findMajorityByKeyParallel(int[] keys, int[] values, ForkJoinPool pool, int partitions) {
+        checkColumns(keys, values);
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be positive: " + partitions);
+        }
+        if (partitions == 1 || keys.length < partitions) {
+            return findMajorityByKey(keys, values);
+        }
+
+        // Each row is written by exactly one range, so the tasks share this array safely.
+        int[] rowSlots = new int[keys.length];
+        Partition[] ranges = new Partition[partitions];
+        Partition[] shards = new Partition[partitions];
+        int expectedPerRange = Math.min(keys.length / partitions + 1, 1 << 16);
+        for (int p = 0; p < partitions; p++) {
+            ranges[p] = new Partition(expectedPerRange);
+            shards[p] = new Partition(expectedPerRange);
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            Partition range = ranges[p];
+            int from = rangeStart(keys.length, partitions, p);
+            int to = rangeStart(keys.length, partitions, p + 1);
+            tasks.add(ForkJoinTask.adapt(() -> {
+                range.vote(keys, values, rowSlots, from, to);
+                range.bucketByShard(keys, partitions);
+            }));
+        }
+        pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+
+        tasks.clear();
+        for (int p = 0; p < partitions; p++) {
+            int shard = p;
+            tasks.add(ForkJoinTask.adapt(() -> shards[shard].mergeCandidates(ranges, shard, keys)));
+        }
+        pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+
+        tasks.clear();
+        for (int p = 0; p < partitions; p++) {
+            Partition range = ranges[p];
+            int from = rangeStart(keys.length, partitions, p);
+            int to = rangeStart(keys.length, partitions, p + 1);
+            tasks.add(ForkJoinTask.adapt(() -> range.verify(values, rowSlots, from, to)));
+        }
+        pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+
+        tasks.clear();
+        for (int p = 0; p < partitions; p++) {
+            int shard = p;
+            tasks.add(ForkJoinTask.adapt(() -> shards[shard].mergeOccurrences(ranges, shard)));
+        }
+        pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+
+        return mergeByFirstRow(shards, keys);
+    }
+
+    // The approach the grouped engine replaces, kept as a like-for-like baseline: give each key a group
+    // in first-appearance order, copy every group's rows and values into its own slice, vote per slice
+    // and map slice indices back to input rows.
+    public static Groups findMajorityByKeySplit(int[] keys, int[] values) {
+        checkColumns(keys, values);
+        IntIntHashMap groupOf = new IntIntHashMap(Math.min(keys.length, 1 << 16));
+        int[] rowGroup = new int[keys.length];
+        int[] groupKeys = new int[16];
+        int[] lengths = new int[16];
+        int groups = 0;
+        for (int row = 0; row < keys.length; row++) {
+            int group = groupOf.get(keys[row], -1);
+            if (group == -1) {
+                group = groups++;
+                groupOf.put(keys[row], group);
+                if (groups > groupKeys.length) {
+                    groupKeys = Arrays.copyOf(groupKeys, groupKeys.length * 2);
+                    lengths = Arrays.copyOf(lengths, lengths.length * 2);
+                }
+                groupKeys[group] = keys[row];
+            }
+            rowGroup[row] = group;
+            lengths[group]++;
+        }
+        groupKeys = Arrays.copyOf(groupKeys, groups);
+        lengths = Arrays.copyOf(lengths, groups);
+
+        int[] offsets = new int[groups];
+        for (int group = 1; group < groups; group++) {
+            offsets[group] = offsets[group - 1] + lengths[group - 1];
+        }
+        int[] cursor = offsets.clone();
+        int[] sliceRows = new int[keys.length];
+        int[] sliced = new int[keys.length];
+        for (int row = 0; row < keys.length; row++) {
+            int at = cursor[rowGroup[row]]++;
+            sliceRows[at] = row;
+            sliced[at] = values[row];
+        }
+
+        int[] majority = new int[groups];
+        int[] firstRow = new int[groups];
+        int[] lastRow = new int[groups];
+        MajorityBatch.findMajorityElements(sliced, offsets, lengths, majority, firstRow, lastRow);
+        for (int group = 0; group < groups; group++) {
+            if (firstRow[group] >= 0) {
+                firstRow[group] = sliceRows[offsets[group] + firstRow[group]];
+                lastRow[group] = sliceRows[offsets[group] + lastRow[group]];
+            }
+        }
+        return new Groups(groupKeys, majority, firstRow, lastRow, lengths, groupOf);
+    }
+
+    private static int rangeStart(int rows, int partitions, int partition) {
+        return (int) ((long) rows * partition / partitions);
+    }
+
+    // Each shard is already in first-row order; a k-way merge over a heap of shard heads restores the
+    // sequential order in O(groups log P).
+    private static Groups mergeByFirstRow(Partition[] shards, int[] keyColumn) {
+        int total = 0;
+        for (Partition shard : shards) {
+            total += shard.size;
+        }
+        int[] keys = new int[total];
+        int[] majority = new int[total];
+        int[] firstRow = new int[total];
+        int[] lastRow = new int[total];
+        int[] rowCount = new int[total];
+
+        int[] heads = new int[shards.length];
+        int[] heap = new int[shards.length];
+        int heapSize = 0;
+        for (int p = 0; p < shards.length; p++) {
+            if (shards[p].size > 0) {
+                heap[heapSize++] = p;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(heap, heapSize, i, shards, heads);
+        }
+
+        for (int group = 0; group < total; group++) {
+            int best = heap[0];
+            Partition shard = shards[best];
+            int ordinal = heads[best]++;
+            keys[group] = shard.keyOf(ordinal, keyColumn);
+            shard.finish(ordinal, group, majority, firstRow, lastRow, rowCount);
+            if (heads[best] == shard.size) {
+                heap[0] = heap[--heapSize];
+            }
+            if (heapSize > 0) {
+                siftDown(heap, heapSize, 0, shards, heads);
+            }
+        }
+        return new Groups(keys, majority, firstRow, lastRow, rowCount, null);
+    }
+
+    private static void siftDown(int[] heap, int heapSize, int i, Partition[] shards, int[] heads) {
+        int item = heap[i];
+        int itemRow = shards[item].seenAt(heads[item]);
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            int childRow = shards[heap[child]].seenAt(heads[heap[child]]);
+            if (child + 1 < heapSize) {
+                int rightRow = shards[heap[child + 1]].seenAt(heads[heap[child + 1]]);
+                if (rightRow < childRow) {
+                    child++;
+                    childRow = rightRow;
+                }
+            }
+            if (itemRow <= childRow) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = item;
+    }
+
+    private static void checkColumns(int[] keys, int[] values) {
+        if (keys == null || values == null) {
+            throw new IllegalArgumentException("keys and values must not be null");
+        }
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values differ in length: "
+                + keys.length + " vs " + values.length);
+        }
+    }
+
+    // Shard from the high bits; the probe table places keys by the low bits of the same mix, so each
+    // shard's table still spreads over all of its slots.
+    static int partitionOf(int key, int partitions) {
+        return (int) (((IntIntHashMap.mix(key) & 0xFFFFFFFFL) * partitions) >>> 32);
+    }
+
+    // Per-key state of one row range or key shard, numbered by first appearance (the key's ordinal).
+    // Both arrays are interleaved so a row touches one probe entry and one state entry, rather than one
+    // array per field; at millions of keys each of those is a cache miss.
+    private static final class Partition {
+        // Probe table entries: {key, ordinal + 1}; 0 in the second field marks an empty entry.
+        private static final int PROBE_STRIDE = 2;
+        // State entries, indexed by ordinal.
+        private static final int CANDIDATE = 0;
+        // Vote count during the first pass, candidate occurrences during the second.
+        private static final int COUNT = 1;
+        private static final int ROWS = 2;
+        private static final int SEEN_AT = 3;
+        private static final int FIRST = 4;
+        private static final int LAST = 5;
+        // In a row range: the key's ordinal in its shard.
+        private static final int MERGED = 6;
+        private static final int STATE_STRIDE = 8;
+
+        private int[] probe;
+        private int mask;
+        private int[] state;
+        private int size;
+        // In a row range: ordinals grouped by shard, first-appearance order within each shard.
+        private int[] byShard;
+        private int[] shardStart;
+
+        Partition(int expectedKeys) {
+            int capacity = Integer.highestOneBit(Math.max(2, expectedKeys) * 2 - 1) << 1;
+            this.probe = new int[capacity * PROBE_STRIDE];
+            this.mask = capacity - 1;
+            this.state = new int[Math.max(16, expectedKeys) * STATE_STRIDE];
+        }
+
+        void vote(int[] keyColumn, int[] valueColumn, int[] rowSlots, int from, int to) {
+            for (int row = from; row < to; row++) {
+                int value = valueColumn[row];
+                int ordinal = ordinalOf(keyColumn[row], row);
+                // Remembering the ordinal spares the verify pass a second hash probe per row.
+                rowSlots[row] = ordinal;
+
+                int base = ordinal * STATE_STRIDE;
+                int count = state[base + COUNT];
+                if (count == 0) {
+                    state[base + CANDIDATE] = value;
+                    state[base + COUNT] = 1;
+                } else if (state[base + CANDIDATE] == value) {
+                    state[base + COUNT] = count + 1;
+                } else {
+                    state[base + COUNT] = count - 1;
+                }
+                state[base + ROWS]++;
+            }
+        }
+
+        // Counting sort of this range's ordinals by the shard of their key.
+        void bucketByShard(int[] keyColumn, int shards) {
+            shardStart = new int[shards + 1];
+            int[] shardOf = new int[size];
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                shardOf[ordinal] = partitionOf(keyColumn[seenAt(ordinal)], shards);
+                shardStart[shardOf[ordinal] + 1]++;
+            }
+            for (int shard = 0; shard < shards; shard++) {
+                shardStart[shard + 1] += shardStart[shard];
+            }
+            int[] cursor = Arrays.copyOf(shardStart, shards);
+            byShard = new int[size];
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                byShard[cursor[shardOf[ordinal]]++] = ordinal;
+            }
+        }
+
+        // Folds every range's (candidate, count) for this shard's keys into this table, ranges in row
+        // order so ordinals and SEEN_AT follow the first row, and hands each range the merged candidate.
+        void mergeCandidates(Partition[] ranges, int shard, int[] keyColumn) {
+            for (Partition range : ranges) {
+                for (int i = range.shardStart[shard]; i < range.shardStart[shard + 1]; i++) {
+                    int local = range.byShard[i] * STATE_STRIDE;
+                    int seenAt = range.state[local + SEEN_AT];
+                    int ordinal = ordinalOf(keyColumn[seenAt], seenAt);
+                    range.state[local + MERGED] = ordinal;
+
+                    // CandidateSummary.merge: equal candidates add, different candidates cancel.
+                    int base = ordinal * STATE_STRIDE;
+                    int count = state[base + COUNT];
+                    int otherCandidate = range.state[local + CANDIDATE];
+                    int otherCount = range.state[local + COUNT];
+                    if (count == 0) {
+                        state[base + CANDIDATE] = otherCandidate;
+                        state[base + COUNT] = otherCount;
+                    } else if (state[base + CANDIDATE] == otherCandidate) {
+                        state[base + COUNT] = count + otherCount;
+                    } else if (count >= otherCount) {
+                        state[base + COUNT] = count - otherCount;
+                    } else {
+                        state[base + CANDIDATE] = otherCandidate;
+                        state[base + COUNT] = otherCount - count;
+                    }
+                    state[base + ROWS] += range.state[local + ROWS];
+                }
+            }
+            for (Partition range : ranges) {
+                for (int i = range.shardStart[shard]; i < range.shardStart[shard + 1]; i++) {
+                    int local = range.byShard[i] * STATE_STRIDE;
+                    range.state[local + CANDIDATE] = state[range.state[local + MERGED] * STATE_STRIDE + CANDIDATE];
+                }
+            }
+        }
+
+        void verify(int[] valueColumn, int[] rowSlots, int from, int to) {
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                int base = ordinal * STATE_STRIDE;
+                state[base + COUNT] = 0;
+                state[base + FIRST] = -1;
+            }
+
+            for (int row = from; row < to; row++) {
+                int base = rowSlots[row] * STATE_STRIDE;
+                if (valueColumn[row] == state[base + CANDIDATE]) {
+                    if (state[base + FIRST] == -1) {
+                        state[base + FIRST] = row;
+                    }
+                    state[base + LAST] = row;
+                    state[base + COUNT]++;
+                }
+            }
+        }
+
+        // Sums the ranges' verified occurrences for this shard's keys; the first range with an
+        // occurrence gives the first row and the last one gives the last row.
+        void mergeOccurrences(Partition[] ranges, int shard) {
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                int base = ordinal * STATE_STRIDE;
+                state[base + COUNT] = 0;
+                state[base + FIRST] = -1;
+            }
+            for (Partition range : ranges) {
+                for (int i = range.shardStart[shard]; i < range.shardStart[shard + 1]; i++) {
+                    int local = range.byShard[i] * STATE_STRIDE;
+                    if (range.state[local + FIRST] == -1) {
+                        continue;
+                    }
+                    int base = range.state[local + MERGED] * STATE_STRIDE;
+                    if (state[base + FIRST] == -1) {
+                        state[base + FIRST] = range.state[local + FIRST];
+                    }
+                    state[base + LAST] = range.state[local + LAST];
+                    state[base + COUNT] += range.state[local + COUNT];
+                }
+            }
+        }
+
+        // Ordinal of key, adding it (with zeroed counts) on first sight.
+        private int ordinalOf(int key, int row) {
+            int slot = IntIntHashMap.mix(key) & mask;
+            while (true) {
+                int entry = slot * PROBE_STRIDE;
+                int tag = probe[entry + 1];
+                if (tag == 0) {
+                    break;
+                }
+                if (probe[entry] == key) {
+                    return tag - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int ordinal = size++;
+            probe[slot * PROBE_STRIDE] = key;
+            probe[slot * PROBE_STRIDE + 1] = ordinal + 1;
+            if (size * STATE_STRIDE > state.length) {
+                state = Arrays.copyOf(state, state.length * 2);
+            }
+            state[ordinal * STATE_STRIDE + SEEN_AT] = row;
+            if (size * 2 > mask + 1) {
+                rehash();
+            }
+            return ordinal;
+        }
+
+        int seenAt(int ordinal) {
+            return state[ordinal * STATE_STRIDE + SEEN_AT];
+        }
+
+        int keyOf(int ordinal, int[] keyColumn) {
+            return keyColumn[seenAt(ordinal)];
+        }
+
+        void finish(int ordinal, int group, int[] majority, int[] firstRow, int[] lastRow, int[] rowCount) {
+            int base = ordinal * STATE_STRIDE;
+            int rows = state[base + ROWS];
+            rowCount[group] = rows;
+            if (state[base + COUNT] > rows / 2) {
+                majority[group] = state[base + CANDIDATE];
+                firstRow[group] = state[base + FIRST];
+                lastRow[group] = state[base + LAST];
+            } else {
+                majority[group] = -1;
+                firstRow[group] = -1;
+                lastRow[group] = -1;
+            }
+        }
+
+        Groups toGroups(int[] keyColumn) {
+            int[] keys = new int[size];
+            int[] majority = new int[size];
+            int[] firstRow = new int[size];
+            int[] lastRow = new int[size];
+            int[] rowCount = new int[size];
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                keys[ordinal] = keyOf(ordinal, keyColumn);
+                finish(ordinal, ordinal, majority, firstRow, lastRow, rowCount);
+            }
+            return new Groups(keys, majority, firstRow, lastRow, rowCount, null);
+        }
+
+        private void rehash() {
+            int[] old = probe;
+            int capacity = (mask + 1) * 2;
+            probe = new int[capacity * PROBE_STRIDE];
+            mask = capacity - 1;
+            for (int entry = 0; entry < old.length; entry += PROBE_STRIDE) {
+                if (old[entry + 1] != 0) {
+                    int slot = IntIntHashMap.mix(old[entry]) & mask;
+                    while (probe[slot * PROBE_STRIDE + 1] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    probe[slot * PROBE_STRIDE] = old[entry];
+                    probe[slot * PROBE_STRIDE + 1] = old[entry + 1];
+                }
+            }
+        }
+    }
+}
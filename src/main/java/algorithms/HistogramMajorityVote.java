@@ -0,0 +1,75 @@
+package algorithms;
+
+import metrics.OperationTracker;
+import metrics.PerformanceTracker;
+
+// Single-pass dense counting for inputs whose values lie in a small known range.
+public class HistogramMajorityVote {
+
+    public static final int MAX_DOMAIN_SIZE = 1 << 20;
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array, int minValue, int maxValue) {
+        return findMajorityElement(array, minValue, maxValue, new PerformanceTracker());
+    }
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(int[] array, int minValue, int maxValue,
+                                                                    OperationTracker tracker) {
+        tracker.startTimer();
+        BoyerMooreMajorityVote.Result result = tryFindMajorityElement(array, minValue, maxValue, tracker);
+        tracker.stopTimer();
+
+        if (result == null) {
+            throw new IllegalArgumentException("array contains a value outside [" + minValue + ", " + maxValue + "]");
+        }
+        return result;
+    }
+
+    // Returns null as soon as a value falls outside [minValue, maxValue]; the timer is left to the caller.
+    static BoyerMooreMajorityVote.Result tryFindMajorityElement(int[] array, int minValue, int maxValue,
+                                                               OperationTracker tracker) {
+        long domainSize = (long) maxValue - minValue + 1;
+        if (domainSize < 1 || domainSize > MAX_DOMAIN_SIZE) {
+            throw new IllegalArgumentException("Domain [" + minValue + ", " + maxValue + "] must hold 1.."
+                + MAX_DOMAIN_SIZE + " values");
+        }
+
+        PerformanceTracker metrics = tracker instanceof PerformanceTracker ? (PerformanceTracker) tracker : null;
+        if (array == null || array.length == 0) {
+            return new BoyerMooreMajorityVote.Result(-1, -1, -1, metrics);
+        }
+
+        int domain = (int) domainSize;
+        int[] counts = new int[domain];
+        int[] firstIndex = new int[domain];
+        int[] lastIndex = new int[domain];
+
+        for (int i = 0; i < array.length; i++) {
+            tracker.incrementArrayAccessCount();
+            int offset = array[i] - minValue;
+
+            tracker.incrementComparisonCount();
+            if (offset < 0 || offset >= domain) {
+                return null;
+            }
+
+            // No data-dependent branch: the first-index update compiles to a conditional move.
+            int count = counts[offset];
+            firstIndex[offset] = count == 0 ? i : firstIndex[offset];
+            counts[offset] = count + 1;
+            lastIndex[offset] = i;
+            tracker.incrementAssignmentCount();
+            tracker.incrementAssignmentCount();
+            tracker.incrementAssignmentCount();
+        }
+
+        int half = array.length / 2;
+        for (int offset = 0; offset < domain; offset++) {
+            tracker.incrementComparisonCount();
+            if (counts[offset] > half) {
+                return new BoyerMooreMajorityVote.Result(
+                    minValue + offset, firstIndex[offset], lastIndex[offset], metrics);
+            }
+        }
+        return new BoyerMooreMajorityVote.Result(-1, -1, -1, metrics);
+    }
+}
@@ -0,0 +1,203 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// Incremental Boyer-Moore state: O(1) memory no matter how many values are accepted.
+public class MajorityAccumulator implements IntConsumer {
+
+    // Longest stream whose positions all fit the int indices of BoyerMooreMajorityVote.Result.
+    public static final long MAX_VERIFY_ELEMENTS = Integer.MAX_VALUE + 1L;
+
+    private int candidate;
+    private long count;
+    private long elementCount;
+
+    @Override
+    public void accept(int value) {
+        if (count == 0) {
+            candidate = value;
+            count = 1;
+        } else if (candidate == value) {
+            count++;
+        } else {
+            count--;
+        }
+        elementCount++;
+    }
+
+    public void accept(int[] values) {
+        accept(values, 0, values.length);
+    }
+
+    public void accept(int[] values, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+
+        int localCandidate = candidate;
+        long localCount = count;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int current = values[i];
+            if (localCount == 0) {
+                localCandidate = current;
+                localCount = 1;
+            } else if (localCandidate == current) {
+                localCount++;
+            } else {
+                localCount--;
+            }
+        }
+
+        candidate = localCandidate;
+        count = localCount;
+        elementCount += length;
+    }
+
+    public void accept(IntStream values) {
+        values.sequential().forEach(this);
+    }
+
+    public boolean hasCandidate() {
+        return count > 0;
+    }
+
+    public int getCandidate() {
+        if (count == 0) {
+            throw new IllegalStateException("No candidate: accumulator is empty or fully cancelled");
+        }
+        return candidate;
+    }
+
+    public long getCandidateCount() {
+        return count;
+    }
+
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    public CandidateSummary toSummary() {
+        return new CandidateSummary(candidate, count);
+    }
+
+    public void reset() {
+        candidate = 0;
+        count = 0;
+        elementCount = 0;
+    }
+
+    // Replays the source once to count the candidate and locate its first/last position. Result indices
+    // are ints, so streams of more than MAX_VERIFY_ELEMENTS are rejected before the replay starts.
+    public BoyerMooreMajorityVote.Result verify(Supplier<IntStream> source) {
+        return verifyStream(candidate, count > 0, elementCount, source);
+    }
+
+    // Second pass fed in slices, for replays that arrive in reusable batches rather than as an IntStream.
+    public Verification newVerification() {
+        return new Verification(candidate, count > 0, elementCount);
+    }
+
+    static BoyerMooreMajorityVote.Result verifyStream(int candidate, boolean hasCandidate, long elementCount,
+                                                      Supplier<IntStream> source) {
+        Verification verification = new Verification(candidate, hasCandidate, elementCount);
+        if (hasCandidate) {
+            try (IntStream replay = source.get()) {
+                PrimitiveIterator.OfInt values = replay.iterator();
+                while (values.hasNext()) {
+                    verification.accept(values.nextInt());
+                }
+            }
+        }
+        return verification.finish();
+    }
+
+    // Counts the candidate over a replay of the accumulated values, in their original order.
+    public static final class Verification implements IntConsumer {
+        private final int candidate;
+        private final boolean hasCandidate;
+        private final long elementCount;
+        private final PerformanceTracker tracker = new PerformanceTracker();
+        private long position;
+        private long occurrences;
+        private int firstIndex = -1;
+        private int lastIndex = -1;
+
+        Verification(int candidate, boolean hasCandidate, long elementCount) {
+            if (elementCount > MAX_VERIFY_ELEMENTS) {
+                throw new IllegalStateException("Cannot verify " + elementCount + " elements: indices are limited to "
+                    + MAX_VERIFY_ELEMENTS + " elements");
+            }
+            this.candidate = candidate;
+            this.hasCandidate = hasCandidate;
+            this.elementCount = elementCount;
+            tracker.startTimer();
+        }
+
+        @Override
+        public void accept(int value) {
+            checkRoom(1);
+            tracker.incrementArrayAccessCount();
+            tracker.incrementComparisonCount();
+            if (value == candidate) {
+                if (firstIndex == -1) {
+                    firstIndex = (int) position;
+                }
+                lastIndex = (int) position;
+                occurrences++;
+                tracker.incrementAssignmentCount();
+            }
+            position++;
+        }
+
+        public void accept(int[] values, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, values.length);
+            checkRoom(length);
+            int base = (int) position - offset;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                tracker.incrementArrayAccessCount();
+                tracker.incrementComparisonCount();
+                if (values[i] == candidate) {
+                    if (firstIndex == -1) {
+                        firstIndex = base + i;
+                    }
+                    lastIndex = base + i;
+                    occurrences++;
+                    tracker.incrementAssignmentCount();
+                }
+            }
+            position += length;
+        }
+
+        public long getOccurrences() {
+            return occurrences;
+        }
+
+        public BoyerMooreMajorityVote.Result finish() {
+            tracker.stopTimer();
+            if (!hasCandidate) {
+                return new BoyerMooreMajorityVote.Result(-1, -1, -1, tracker);
+            }
+            if (position != elementCount) {
+                throw new IllegalStateException(
+                    "Source replayed " + position + " elements but " + elementCount + " were accumulated");
+            }
+            tracker.incrementComparisonCount();
+            if (occurrences <= elementCount / 2) {
+                return new BoyerMooreMajorityVote.Result(-1, -1, -1, tracker);
+            }
+            return new BoyerMooreMajorityVote.Result(candidate, firstIndex, lastIndex, tracker);
+        }
+
+        // Stops a longer replay before its positions can leave the int range.
+        private void checkRoom(int length) {
+            if (position + length > elementCount) {
+                throw new IllegalStateException(
+                    "Source replayed more than the " + elementCount + " elements that were accumulated");
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package algorithms;
+
+import metrics.NoOpTracker;
+import metrics.OperationTracker;
+import metrics.PerformanceTracker;
+
+import java.nio.IntBuffer;
+import java.util.Objects;
+
+// Batch entry points that write into caller-owned outputs, so no objects are allocated per item.
+public class MajorityBatch {
+
+    public static final class MutableResult {
+        public int majorityElement = -1;
+        public int firstIndex = -1;
+        public int lastIndex = -1;
+
+        public boolean hasMajority() {
+            return firstIndex != -1;
+        }
+
+        void set(int majorityElement, int firstIndex, int lastIndex) {
+            this.majorityElement = majorityElement;
+            this.firstIndex = firstIndex;
+            this.lastIndex = lastIndex;
+        }
+    }
+
+    public static void findMajorityElements(int[][] arrays, int[] majority, int[] firstIndex, int[] lastIndex) {
+        findMajorityElements(arrays, majority, firstIndex, lastIndex, null);
+    }
+
+    // aggregate may be null; otherwise it receives the summed counts and the time for the whole batch.
+    public static void findMajorityElements(int[][] arrays, int[] majority, int[] firstIndex, int[] lastIndex,
+                                            PerformanceTracker aggregate) {
+        checkOutputs(arrays.length, majority, firstIndex, lastIndex);
+        OperationTracker tracker = aggregate != null ? aggregate : NoOpTracker.INSTANCE;
+        MutableResult out = new MutableResult();
+
+        tracker.startTimer();
+        for (int item = 0; item < arrays.length; item++) {
+            int[] array = arrays[item];
+            locate(array, 0, array == null ? 0 : array.length, tracker, out);
+            majority[item] = out.majorityElement;
+            firstIndex[item] = out.firstIndex;
+            lastIndex[item] = out.lastIndex;
+        }
+        tracker.stopTimer();
+    }
+
+    public static void findMajorityElements(int[] values, int[] offsets, int[] lengths,
+                                            int[] majority, int[] firstIndex, int[] lastIndex) {
+        findMajorityElements(values, offsets, lengths, majority, firstIndex, lastIndex, null);
+    }
+
+    // Items are slices values[offsets[i] .. offsets[i] + lengths[i]); reported indices are relative to each slice.
+    public static void findMajorityElements(int[] values, int[] offsets, int[] lengths,
+                                            int[] majority, int[] firstIndex, int[] lastIndex,
+                                            PerformanceTracker aggregate) {
+        if (offsets.length != lengths.length) {
+            throw new IllegalArgumentException("offsets and lengths differ in length: "
+                + offsets.length + " vs " + lengths.length);
+        }
+        checkOutputs(offsets.length, majority, firstIndex, lastIndex);
+        OperationTracker tracker = aggregate != null ? aggregate : NoOpTracker.INSTANCE;
+        MutableResult out = new MutableResult();
+
+        tracker.startTimer();
+        for (int item = 0; item < offsets.length; item++) {
+            Objects.checkFromIndexSize(offsets[item], lengths[item], values.length);
+            locate(values, offsets[item], lengths[item], tracker, out);
+            majority[item] = out.majorityElement;
+            firstIndex[item] = out.firstIndex;
+            lastIndex[item] = out.lastIndex;
+        }
+        tracker.stopTimer();
+    }
+
+    public static boolean findMajorityElement(int[] values, int offset, int length, MutableResult out) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        locate(values, offset, length, NoOpTracker.INSTANCE, out);
+        return out.hasMajority();
+    }
+
+    private static void checkOutputs(int items, int[] majority, int[] firstIndex, int[] lastIndex) {
+        if (majority.length < items || firstIndex.length < items || lastIndex.length < items) {
+            throw new IllegalArgumentException("Output arrays must hold at least " + items + " results");
+        }
+    }
+
+    // Candidate / fused verify / backward scan over a slice; indices in out are relative to offset.
+    static void locate(int[] values, int offset, int length, OperationTracker tracker, MutableResult out) {
+        locate(values, null, offset, length, tracker, out);
+    }
+
+    // Same pipeline over absolute reads of buffer[offset, offset + length), for in-place buffer input.
+    static void locate(IntBuffer buffer, int offset, int length, OperationTracker tracker, MutableResult out) {
+        locate(null, buffer, offset, length, tracker, out);
+    }
+
+    // Exactly one of values and buffer is non-null. Which one is loop-invariant, so C2 unswitches each
+    // loop into an array copy and a buffer copy and neither pays a per-element check.
+    private static void locate(int[] values, IntBuffer buffer, int offset, int length, OperationTracker tracker,
+                               MutableResult out) {
+        if (length == 0) {
+            out.set(-1, -1, -1);
+            return;
+        }
+
+        int end = offset + length;
+        int candidate = read(values, buffer, offset);
+        int count = 1;
+        tracker.incrementArrayAccessCount();
+        for (int i = offset + 1; i < end; i++) {
+            tracker.incrementArrayAccessCount();
+            int current = read(values, buffer, i);
+            tracker.incrementComparisonCount();
+            if (count == 0) {
+                candidate = current;
+                count = 1;
+            } else {
+                tracker.incrementComparisonCount();
+                if (candidate == current) {
+                    count++;
+                } else {
+                    count--;
+                }
+            }
+            tracker.incrementAssignmentCount();
+        }
+
+        int half = length / 2;
+        int maxMisses = length - half - 1;
+        int occurrences = 0;
+        int misses = 0;
+        int first = -1;
+        int confirmed = -1;
+        for (int i = offset; i < end; i++) {
+            tracker.incrementArrayAccessCount();
+            tracker.incrementComparisonCount();
+            if (read(values, buffer, i) == candidate) {
+                if (first == -1) {
+                    first = i;
+                }
+                tracker.incrementAssignmentCount();
+                if (++occurrences > half) {
+                    confirmed = i;
+                    break;
+                }
+            } else {
+                tracker.incrementAssignmentCount();
+                if (++misses > maxMisses) {
+                    break;
+                }
+            }
+        }
+
+        if (confirmed == -1) {
+            out.set(-1, -1, -1);
+            return;
+        }
+
+        int last = end - 1;
+        while (last > confirmed) {
+            tracker.incrementArrayAccessCount();
+            tracker.incrementComparisonCount();
+            if (read(values, buffer, last) == candidate) {
+                break;
+            }
+            last--;
+        }
+        out.set(candidate, first - offset, last - offset);
+    }
+
+    private static int read(int[] values, IntBuffer buffer, int index) {
+        return values != null ? values[index] : buffer.get(index);
+    }
+}
@@ -0,0 +1,227 @@
+package algorithms;
+
+import metrics.NoOpTracker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Runs independent majority jobs concurrently with a bounded number in flight.
+public class MajorityJobExecutor implements AutoCloseable {
+
+    public enum ThreadMode { VIRTUAL, PLATFORM }
+
+    public static class Stats {
+        public final long completedJobs;
+        public final double jobsPerSecond;
+        public final int queueDepth;
+        public final double p50LatencyMs;
+        public final double p99LatencyMs;
+
+        Stats(long completedJobs, double jobsPerSecond, int queueDepth, double p50LatencyMs, double p99LatencyMs) {
+            this.completedJobs = completedJobs;
+            this.jobsPerSecond = jobsPerSecond;
+            this.queueDepth = queueDepth;
+            this.p50LatencyMs = p50LatencyMs;
+            this.p99LatencyMs = p99LatencyMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Jobs: %d, Throughput: %.1f jobs/s, Queue depth: %d, p50: %.3f ms, p99: %.3f ms",
+                completedJobs, jobsPerSecond, queueDepth, p50LatencyMs, p99LatencyMs);
+        }
+    }
+
+    private static final int LATENCY_SAMPLES = 1 << 16;
+
+    private final ExecutorService executor;
+    private final ThreadMode mode;
+    private final int maxInFlight;
+    private final Semaphore permits;
+
+    private final long startTime = System.nanoTime();
+    private final AtomicLong completed = new AtomicLong();
+    // Ring of the most recent latencies; percentiles are taken over this window.
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_SAMPLES);
+
+    public MajorityJobExecutor(ThreadMode mode, int maxInFlight) {
+        this(mode, maxInFlight, Runtime.getRuntime().availableProcessors());
+    }
+
+    public MajorityJobExecutor(ThreadMode mode, int maxInFlight, int platformThreads) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        if (mode == ThreadMode.VIRTUAL) {
+            this.executor = newVirtualThreadExecutor();
+        } else {
+            if (platformThreads < 1) {
+                throw new IllegalArgumentException("platformThreads must be positive: " + platformThreads);
+            }
+            this.executor = Executors.newFixedThreadPool(platformThreads);
+        }
+        this.mode = mode;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // Looked up reflectively so the build keeps targeting Java 11 while using virtual threads on 21+.
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer; running on "
+                + System.getProperty("java.version"), e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+
+    public ThreadMode getMode() {
+        return mode;
+    }
+
+    // Blocks the caller while maxInFlight jobs are already queued or running.
+    public CompletableFuture<BoyerMooreMajorityVote.Result> submit(int[] array) {
+        return submit(() -> BoyerMooreMajorityVote.findMajorityElement(array), null);
+    }
+
+    // File jobs are scanned untracked; per-element counters would cost as much as the mapped scan.
+    public CompletableFuture<BoyerMooreMajorityVote.Result> submit(Path file) {
+        return submit(() -> {
+            try {
+                return MappedFileMajorityVote.findMajorityElement(file, NoOpTracker.INSTANCE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, null);
+    }
+
+    // onComplete runs before the permit is released, so draining all permits also waits for callbacks.
+    private CompletableFuture<BoyerMooreMajorityVote.Result> submit(Supplier<BoyerMooreMajorityVote.Result> job,
+                                                                    BiConsumer<BoyerMooreMajorityVote.Result, Throwable> onComplete) {
+        permits.acquireUninterruptibly();
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(job, executor)
+                .whenComplete((result, error) -> {
+                    try {
+                        if (onComplete != null) {
+                            onComplete.accept(result, error);
+                        }
+                    } finally {
+                        long sample = completed.getAndIncrement();
+                        latencies.set((int) (sample & (LATENCY_SAMPLES - 1)), System.nanoTime() - submittedAt);
+                        permits.release();
+                    }
+                });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Results are returned in submission order.
+    public List<BoyerMooreMajorityVote.Result> runInOrder(Stream<int[]> jobs) {
+        List<CompletableFuture<BoyerMooreMajorityVote.Result>> futures = new ArrayList<>();
+        jobs.forEach(array -> futures.add(submit(array)));
+
+        List<BoyerMooreMajorityVote.Result> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<BoyerMooreMajorityVote.Result> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    // Results are handed to the consumer as jobs complete, possibly from several threads at once.
+    // Nothing is retained per job, so the stream may be arbitrarily long.
+    public void runUnordered(Stream<int[]> jobs, Consumer<BoyerMooreMajorityVote.Result> onComplete) {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        jobs.forEach(array -> submit(() -> BoyerMooreMajorityVote.findMajorityElement(array), (result, error) -> {
+            if (error == null) {
+                try {
+                    onComplete.accept(result);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            } else {
+                failure.compareAndSet(null, error);
+            }
+        }));
+
+        permits.acquireUninterruptibly(maxInFlight);
+        permits.release(maxInFlight);
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw error instanceof RuntimeException ? (RuntimeException) error : new CompletionException(error);
+        }
+    }
+
+    // Jobs submitted but not yet completed, whether queued or running.
+    public int getQueueDepth() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public Stats snapshot() {
+        long done = completed.get();
+        int samples = (int) Math.min(done, LATENCY_SAMPLES);
+        long[] sorted = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        return new Stats(done, done / elapsedSeconds, getQueueDepth(),
+            percentileMs(sorted, 0.50), percentileMs(sorted, 0.99));
+    }
+
+    private static double percentileMs(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
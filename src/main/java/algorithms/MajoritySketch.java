@@ -0,0 +1,264 @@
+package algorithms;
+
+import metrics.NoOpTracker;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+// Mergeable summary of a shard: Boyer-Moore (candidate, count, n) plus optional Misra-Gries counters,
+// with a fixed big-endian binary layout so partial results can move between processes.
+public final class MajoritySketch {
+
+    public static final int MAGIC = 0x4D4A534B; // "MJSK"
+    public static final int VERSION = 1;
+    // magic, version, k, candidate, count, elementCount, counterCount
+    public static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 8 + 8 + 4;
+    // key, count
+    public static final int COUNTER_BYTES = 4 + 8;
+
+    public static final MajoritySketch EMPTY = new MajoritySketch(0, 0, 0, 0, new int[0], new long[0]);
+
+    public final int candidate;
+    public final long count;
+    public final long elementCount;
+    // 0 when only the Boyer-Moore state is kept; otherwise counters track elements above n/k.
+    public final int k;
+
+    // Sorted by key so equal sketches encode to identical bytes.
+    private final int[] counterKeys;
+    private final long[] counterValues;
+
+    private MajoritySketch(int candidate, long count, long elementCount, int k,
+                           int[] counterKeys, long[] counterValues) {
+        this.candidate = candidate;
+        this.count = count;
+        this.elementCount = elementCount;
+        this.k = k;
+        this.counterKeys = counterKeys;
+        this.counterValues = counterValues;
+    }
+
+    public static MajoritySketch summarize(int[] values) {
+        return summarize(values, 0, values.length, 0);
+    }
+
+    public static MajoritySketch summarize(int[] values, int offset, int length, int k) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        checkK(k);
+
+        int candidate = 0;
+        long count = 0;
+        MisraGriesCounters counters = k == 0 ? null : new MisraGriesCounters(k - 1);
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int value = values[i];
+            if (count == 0) {
+                candidate = value;
+                count = 1;
+            } else if (candidate == value) {
+                count++;
+            } else {
+                count--;
+            }
+            if (counters != null) {
+                counters.offer(value, NoOpTracker.INSTANCE);
+            }
+        }
+
+        int used = counters == null ? 0 : counters.size();
+        int[] keys = new int[used];
+        long[] counts = new long[used];
+        used = 0;
+        for (int slot = 0; counters != null && slot < counters.capacity(); slot++) {
+            if (counters.countAt(slot) > 0) {
+                keys[used] = counters.keyAt(slot);
+                counts[used++] = counters.countAt(slot);
+            }
+        }
+        return sorted(candidate, count, length, k, keys, counts, used);
+    }
+
+    public boolean hasCandidate() {
+        return count > 0;
+    }
+
+    public CandidateSummary toSummary() {
+        return new CandidateSummary(candidate, count);
+    }
+
+    public int getCounterCount() {
+        return counterKeys.length;
+    }
+
+    public int getCounterKey(int index) {
+        return counterKeys[index];
+    }
+
+    public long getCounterValue(int index) {
+        return counterValues[index];
+    }
+
+    // Every element occurring more than n/k times is among these; a verification pass must confirm them.
+    public int[] getHeavyHitterCandidates() {
+        return counterKeys.clone();
+    }
+
+    // Boyer-Moore combine for the candidate; Misra-Gries counters are summed and then reduced by the
+    // k-th largest value, which preserves the n/k guarantee for the combined input.
+    public MajoritySketch merge(MajoritySketch other) {
+        // Empty sketches are the identity whatever their k.
+        if (other.elementCount == 0) {
+            return this;
+        }
+        if (elementCount == 0) {
+            return other;
+        }
+        if (k != other.k) {
+            throw new IllegalArgumentException("Cannot merge sketches with different k: " + k + " vs " + other.k);
+        }
+
+        CandidateSummary summary = toSummary().merge(other.toSummary());
+        long mergedCount = elementCount + other.elementCount;
+
+        int total = counterKeys.length + other.counterKeys.length;
+        int[] keys = Arrays.copyOf(counterKeys, total);
+        long[] counts = Arrays.copyOf(counterValues, total);
+        int used = counterKeys.length;
+        IntIntHashMap slots = new IntIntHashMap(total);
+        for (int i = 0; i < used; i++) {
+            slots.put(keys[i], i);
+        }
+        for (int i = 0; i < other.counterKeys.length; i++) {
+            int slot = slots.get(other.counterKeys[i], -1);
+            if (slot != -1) {
+                counts[slot] += other.counterValues[i];
+            } else {
+                keys[used] = other.counterKeys[i];
+                counts[used] = other.counterValues[i];
+                slots.put(keys[used], used++);
+            }
+        }
+
+        int capacity = k - 1;
+        if (k > 0 && used > capacity) {
+            long[] ordered = Arrays.copyOf(counts, used);
+            Arrays.sort(ordered);
+            long threshold = ordered[used - capacity - 1];
+            int kept = 0;
+            for (int i = 0; i < used; i++) {
+                if (counts[i] > threshold) {
+                    keys[kept] = keys[i];
+                    counts[kept] = counts[i] - threshold;
+                    kept++;
+                }
+            }
+            used = kept;
+        }
+
+        return sorted(summary.candidate, summary.count, mergedCount, k, keys, counts, used);
+    }
+
+    public int encodedSize() {
+        return HEADER_BYTES + counterKeys.length * COUNTER_BYTES;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize());
+        writeTo(buffer);
+        return buffer.array();
+    }
+
+    // Writes at the buffer's position in big-endian order regardless of the buffer's own byte order.
+    public void writeTo(ByteBuffer buffer) {
+        if (buffer.remaining() < encodedSize()) {
+            throw new IllegalArgumentException("Buffer has " + buffer.remaining() + " bytes, sketch needs " + encodedSize());
+        }
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(k).putInt(candidate)
+            .putLong(count).putLong(elementCount).putInt(counterKeys.length);
+        for (int i = 0; i < counterKeys.length; i++) {
+            buffer.putInt(counterKeys[i]).putLong(counterValues[i]);
+        }
+        buffer.order(order);
+    }
+
+    public static MajoritySketch fromBytes(byte[] bytes) {
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+
+    public static MajoritySketch readFrom(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Truncated sketch: " + buffer.remaining() + " bytes");
+        }
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            int magic = buffer.getInt();
+            int version = buffer.getInt();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IllegalArgumentException("Not a version " + VERSION + " sketch: magic=0x"
+                    + Integer.toHexString(magic) + ", version=" + version);
+            }
+            int k = buffer.getInt();
+            int candidate = buffer.getInt();
+            long count = buffer.getLong();
+            long elementCount = buffer.getLong();
+            int counterCount = buffer.getInt();
+
+            checkK(k);
+            if (count < 0 || elementCount < count || counterCount < 0 || counterCount > Math.max(0, k - 1)) {
+                throw new IllegalArgumentException("Corrupt sketch header");
+            }
+            if (buffer.remaining() < (long) counterCount * COUNTER_BYTES) {
+                throw new IllegalArgumentException("Truncated sketch: expected " + counterCount + " counters");
+            }
+
+            int[] keys = new int[counterCount];
+            long[] counts = new long[counterCount];
+            for (int i = 0; i < counterCount; i++) {
+                keys[i] = buffer.getInt();
+                counts[i] = buffer.getLong();
+                if (counts[i] <= 0 || (i > 0 && keys[i] <= keys[i - 1])) {
+                    throw new IllegalArgumentException("Corrupt sketch counter at " + i);
+                }
+            }
+            return new MajoritySketch(candidate, count, elementCount, k, keys, counts);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    private static void checkK(int k) {
+        if (k != 0 && k < 2) {
+            throw new IllegalArgumentException("k must be 0 (no counters) or at least 2: " + k);
+        }
+    }
+
+    private static MajoritySketch sorted(int candidate, long count, long elementCount, int k,
+                                         int[] keys, long[] counts, int used) {
+        // Sorts (key, slot) pairs packed into longs; the signed key in the high bits sets the order.
+        long[] order = new long[used];
+        for (int i = 0; i < used; i++) {
+            order[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int[] sortedKeys = new int[used];
+        long[] sortedCounts = new long[used];
+        for (int i = 0; i < used; i++) {
+            int slot = (int) order[i];
+            sortedKeys[i] = keys[slot];
+            sortedCounts[i] = counts[slot];
+        }
+        return new MajoritySketch(count == 0 ? 0 : candidate, count, elementCount, k, sortedKeys, sortedCounts);
+    }
+
+    @Override
+    public String toString() {
+        return "MajoritySketch{candidate=" + candidate + ", count=" + count + ", elementCount=" + elementCount
+            + ", k=" + k + ", counters=" + counterKeys.length + "}";
+    }
+}
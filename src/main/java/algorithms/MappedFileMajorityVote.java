@@ -0,0 +1,172 @@
+package algorithms;
+
+import metrics.OperationTracker;
+import metrics.PerformanceTracker;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Majority over a file of little-endian int32 values, mapped window by window so heap use stays constant.
+public class MappedFileMajorityVote {
+
+    public static final int DEFAULT_WINDOW_ELEMENTS = 16 * 1024 * 1024;
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(Path file) throws IOException {
+        return findMajorityElement(file, DEFAULT_WINDOW_ELEMENTS, new PerformanceTracker());
+    }
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(Path file, OperationTracker tracker)
+            throws IOException {
+        return findMajorityElement(file, DEFAULT_WINDOW_ELEMENTS, tracker);
+    }
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(Path file, int windowElements,
+                                                                    OperationTracker tracker) throws IOException {
+        if (windowElements < 1) {
+            throw new IllegalArgumentException("windowElements must be positive: " + windowElements);
+        }
+
+        PerformanceTracker metrics = tracker instanceof PerformanceTracker ? (PerformanceTracker) tracker : null;
+        tracker.startTimer();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int length = elementCount(channel.size());
+            if (length == 0) {
+                tracker.stopTimer();
+                return new BoyerMooreMajorityVote.Result(-1, -1, -1, metrics);
+            }
+
+            int candidate = findCandidate(channel, length, windowElements, tracker);
+            int[] firstAndConfirmed = verifyCandidate(channel, length, windowElements, candidate, tracker);
+
+            if (firstAndConfirmed == null) {
+                tracker.stopTimer();
+                return new BoyerMooreMajorityVote.Result(-1, -1, -1, metrics);
+            }
+
+            int lastIndex = findLastIndex(channel, length, windowElements, candidate, firstAndConfirmed[1], tracker);
+
+            tracker.stopTimer();
+            return new BoyerMooreMajorityVote.Result(candidate, firstAndConfirmed[0], lastIndex, metrics);
+        }
+    }
+
+    private static int elementCount(long sizeInBytes) {
+        if (sizeInBytes % Integer.BYTES != 0) {
+            throw new IllegalArgumentException("File size " + sizeInBytes + " is not a multiple of 4 bytes");
+        }
+        long elements = sizeInBytes / Integer.BYTES;
+        if (elements > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("File holds " + elements + " ints; at most "
+                + Integer.MAX_VALUE + " are addressable by Result indices");
+        }
+        return (int) elements;
+    }
+
+    private static IntBuffer mapWindow(FileChannel channel, int start, int count) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, (long) start * Integer.BYTES, (long) count * Integer.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .asIntBuffer();
+    }
+
+    private static int findCandidate(FileChannel channel, int length, int windowElements,
+                                     OperationTracker tracker) throws IOException {
+        int candidate = 0;
+        int count = 0;
+
+        int start = 0;
+        while (start < length) {
+            int windowLength = Math.min(windowElements, length - start);
+            IntBuffer window = mapWindow(channel, start, windowLength);
+
+            for (int i = 0; i < windowLength; i++) {
+                tracker.incrementArrayAccessCount();
+                int current = window.get(i);
+
+                tracker.incrementComparisonCount();
+                if (count == 0) {
+                    candidate = current;
+                    count = 1;
+                    tracker.incrementAssignmentCount();
+                    tracker.incrementAssignmentCount();
+                } else {
+                    tracker.incrementComparisonCount();
+                    if (candidate == current) {
+                        count++;
+                    } else {
+                        count--;
+                    }
+                    tracker.incrementAssignmentCount();
+                }
+            }
+            start += windowLength;
+        }
+
+        return candidate;
+    }
+
+    // Returns {firstIndex, confirmedIndex}, or null once the majority can no longer be reached.
+    private static int[] verifyCandidate(FileChannel channel, int length, int windowElements, int candidate,
+                                         OperationTracker tracker) throws IOException {
+        int half = length / 2;
+        int maxMisses = length - half - 1;
+        int count = 0;
+        int misses = 0;
+        int firstIndex = -1;
+
+        int start = 0;
+        while (start < length) {
+            int windowLength = Math.min(windowElements, length - start);
+            IntBuffer window = mapWindow(channel, start, windowLength);
+
+            for (int i = 0; i < windowLength; i++) {
+                tracker.incrementArrayAccessCount();
+                tracker.incrementComparisonCount();
+                if (window.get(i) == candidate) {
+                    if (firstIndex == -1) {
+                        firstIndex = start + i;
+                    }
+                    count++;
+                    tracker.incrementAssignmentCount();
+                    tracker.incrementComparisonCount();
+                    if (count > half) {
+                        return new int[]{firstIndex, start + i};
+                    }
+                } else {
+                    misses++;
+                    tracker.incrementAssignmentCount();
+                    tracker.incrementComparisonCount();
+                    if (misses > maxMisses) {
+                        return null;
+                    }
+                }
+            }
+            start += windowLength;
+        }
+
+        return null;
+    }
+
+    private static int findLastIndex(FileChannel channel, int length, int windowElements, int candidate,
+                                     int confirmedIndex, OperationTracker tracker) throws IOException {
+        int end = length;
+        while (end > confirmedIndex + 1) {
+            int start = Math.max(confirmedIndex + 1, end - windowElements);
+            IntBuffer window = mapWindow(channel, start, end - start);
+
+            for (int i = end - start - 1; i >= 0; i--) {
+                tracker.incrementArrayAccessCount();
+                tracker.incrementComparisonCount();
+                if (window.get(i) == candidate) {
+                    return start + i;
+                }
+            }
+            end = start;
+        }
+        return confirmedIndex;
+    }
+}
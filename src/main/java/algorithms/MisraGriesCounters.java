@@ -0,0 +1,136 @@
+package algorithms;
+
+import metrics.OperationTracker;
+
+// Misra-Gries counter table shared by MisraGriesHeavyHitters and MajoritySketch: open addressing over
+// int keys, a zero count marks an empty slot, and at most limit keys are held at once.
+final class MisraGriesCounters {
+
+    private final int limit;
+    private final int mask;
+    private int[] keys;
+    private int[] counts;
+    private int[] spareKeys;
+    private int[] spareCounts;
+    private int size;
+
+    MisraGriesCounters(int limit) {
+        this.limit = limit;
+        int capacity = Integer.highestOneBit(Math.max(2, limit) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.keys = new int[capacity];
+        this.counts = new int[capacity];
+    }
+
+    // Slots run from 0 to capacity() - 1; empty ones have a zero count.
+    int capacity() {
+        return keys.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    int countAt(int slot) {
+        return counts[slot];
+    }
+
+    void increment(int slot) {
+        counts[slot]++;
+    }
+
+    int find(int key, OperationTracker tracker) {
+        int slot = mix(key) & mask;
+        while (true) {
+            tracker.incrementComparisonCount();
+            if (counts[slot] == 0) {
+                return -1;
+            }
+            tracker.incrementComparisonCount();
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // Adds key with a count of 1 without the limit check; key must not be present.
+    void insertEmpty(int key) {
+        int slot = mix(key) & mask;
+        while (counts[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        counts[slot] = 1;
+        size++;
+    }
+
+    void offer(int key, OperationTracker tracker) {
+        int slot = mix(key) & mask;
+        while (true) {
+            tracker.incrementComparisonCount();
+            if (counts[slot] == 0) {
+                break;
+            }
+            tracker.incrementComparisonCount();
+            if (keys[slot] == key) {
+                counts[slot]++;
+                tracker.incrementAssignmentCount();
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        tracker.incrementComparisonCount();
+        if (size < limit) {
+            keys[slot] = key;
+            counts[slot] = 1;
+            size++;
+            tracker.incrementAssignmentCount();
+            tracker.incrementAssignmentCount();
+            return;
+        }
+
+        decrementAll(tracker);
+    }
+
+    // The new key and every stored counter cancel one occurrence each.
+    private void decrementAll(OperationTracker tracker) {
+        if (spareKeys == null) {
+            spareKeys = new int[keys.length];
+            spareCounts = new int[counts.length];
+        }
+
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = spareKeys;
+        counts = spareCounts;
+        spareKeys = oldKeys;
+        spareCounts = oldCounts;
+        size = 0;
+
+        for (int slot = 0; slot < oldCounts.length; slot++) {
+            int count = oldCounts[slot];
+            if (count > 1) {
+                int target = mix(oldKeys[slot]) & mask;
+                while (counts[target] != 0) {
+                    target = (target + 1) & mask;
+                }
+                keys[target] = oldKeys[slot];
+                counts[target] = count - 1;
+                size++;
+                tracker.incrementAssignmentCount();
+            }
+            oldCounts[slot] = 0;
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,110 @@
+package algorithms;
+
+import metrics.OperationTracker;
+import metrics.PerformanceTracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Generalises Boyer-Moore to every element occurring more than n/k times.
+public class MisraGriesHeavyHitters {
+
+    public static class HeavyHitter {
+        public final int element;
+        public final int count;
+        public final int firstIndex;
+        public final int lastIndex;
+
+        public HeavyHitter(int element, int count, int firstIndex, int lastIndex) {
+            this.element = element;
+            this.count = count;
+            this.firstIndex = firstIndex;
+            this.lastIndex = lastIndex;
+        }
+
+        @Override
+        public String toString() {
+            return "HeavyHitter{element=" + element + ", count=" + count
+                + ", firstIndex=" + firstIndex + ", lastIndex=" + lastIndex + "}";
+        }
+    }
+
+    public static class Result {
+        public final List<HeavyHitter> heavyHitters;
+        public final PerformanceTracker metrics;
+
+        public Result(List<HeavyHitter> heavyHitters, PerformanceTracker metrics) {
+            this.heavyHitters = heavyHitters;
+            this.metrics = metrics;
+        }
+    }
+
+    public static Result findHeavyHitters(int[] array, int k) {
+        return findHeavyHitters(array, k, new PerformanceTracker());
+    }
+
+    public static Result findHeavyHitters(int[] array, int k, OperationTracker tracker) {
+        if (k < 2) {
+            throw new IllegalArgumentException("k must be at least 2: " + k);
+        }
+
+        PerformanceTracker metrics = tracker instanceof PerformanceTracker ? (PerformanceTracker) tracker : null;
+        tracker.startTimer();
+
+        if (array == null || array.length == 0) {
+            tracker.stopTimer();
+            return new Result(Collections.emptyList(), metrics);
+        }
+
+        MisraGriesCounters counters = new MisraGriesCounters(k - 1);
+        for (int i = 0; i < array.length; i++) {
+            tracker.incrementArrayAccessCount();
+            counters.offer(array[i], tracker);
+        }
+
+        List<HeavyHitter> heavyHitters = verifyCandidates(array, k, counters, tracker);
+
+        tracker.stopTimer();
+        return new Result(heavyHitters, metrics);
+    }
+
+    private static List<HeavyHitter> verifyCandidates(int[] array, int k, MisraGriesCounters counters,
+                                                      OperationTracker tracker) {
+        MisraGriesCounters exact = new MisraGriesCounters(counters.size());
+        int[] firstIndex = new int[exact.capacity()];
+        int[] lastIndex = new int[exact.capacity()];
+
+        for (int slot = 0; slot < counters.capacity(); slot++) {
+            if (counters.countAt(slot) > 0) {
+                exact.insertEmpty(counters.keyAt(slot));
+            }
+        }
+
+        for (int i = 0; i < array.length; i++) {
+            tracker.incrementArrayAccessCount();
+            int slot = exact.find(array[i], tracker);
+            if (slot >= 0) {
+                if (exact.countAt(slot) == 1) {
+                    firstIndex[slot] = i;
+                }
+                exact.increment(slot);
+                lastIndex[slot] = i;
+                tracker.incrementAssignmentCount();
+            }
+        }
+
+        List<HeavyHitter> heavyHitters = new ArrayList<>();
+        for (int slot = 0; slot < exact.capacity(); slot++) {
+            // Counts in the exact table start at 1 to mark occupied slots.
+            long occurrences = exact.countAt(slot) - 1L;
+            tracker.incrementComparisonCount();
+            if (occurrences > 0 && occurrences * k > array.length) {
+                heavyHitters.add(new HeavyHitter(exact.keyAt(slot), (int) occurrences, firstIndex[slot], lastIndex[slot]));
+            }
+        }
+        heavyHitters.sort(Comparator.comparingInt(h -> h.firstIndex));
+        return heavyHitters;
+    }
+}
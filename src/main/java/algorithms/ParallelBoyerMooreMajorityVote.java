@@ -0,0 +1,261 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelBoyerMooreMajorityVote {
+
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 18;
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    public ParallelBoyerMooreMajorityVote() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    public ParallelBoyerMooreMajorityVote(int sequentialThreshold) {
+        this(ForkJoinPool.commonPool(), sequentialThreshold);
+    }
+
+    public ParallelBoyerMooreMajorityVote(ForkJoinPool pool, int sequentialThreshold) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        if (sequentialThreshold < 1) {
+            throw new IllegalArgumentException("sequentialThreshold must be positive: " + sequentialThreshold);
+        }
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    public int getSequentialThreshold() {
+        return sequentialThreshold;
+    }
+
+    public BoyerMooreMajorityVote.Result findMajorityElement(int[] array) {
+        if (array == null || array.length < sequentialThreshold) {
+            return BoyerMooreMajorityVote.findMajorityElement(array);
+        }
+
+        PerformanceTracker tracker = new PerformanceTracker();
+        tracker.startTimer();
+
+        int chunkSize = chunkSize(array.length);
+
+        CandidateTask candidateTask = new CandidateTask(array, 0, array.length, chunkSize, true);
+        CandidateSummary summary = pool.invoke(candidateTask);
+        tracker.merge(candidateTask.tracker);
+
+        VerifyTask verifyTask = new VerifyTask(array, summary.candidate, 0, array.length, chunkSize, true);
+        Occurrences occurrences = pool.invoke(verifyTask);
+        tracker.merge(verifyTask.tracker);
+
+        tracker.incrementComparisonCount();
+        if (occurrences.count <= array.length / 2) {
+            tracker.stopTimer();
+            return new BoyerMooreMajorityVote.Result(-1, -1, -1, tracker);
+        }
+
+        tracker.stopTimer();
+        return new BoyerMooreMajorityVote.Result(
+            summary.candidate, occurrences.firstIndex, occurrences.lastIndex, tracker);
+    }
+
+    // Production path: tasks count nothing and metrics is null; falls back to the untracked sequential engine.
+    public BoyerMooreMajorityVote.Result findMajorityElementUntracked(int[] array) {
+        if (array == null || array.length < sequentialThreshold) {
+            return BoyerMooreMajorityVote.findMajorityElementUntracked(array);
+        }
+
+        int chunkSize = chunkSize(array.length);
+        CandidateSummary summary = pool.invoke(new CandidateTask(array, 0, array.length, chunkSize, false));
+        Occurrences occurrences = pool.invoke(new VerifyTask(array, summary.candidate, 0, array.length, chunkSize, false));
+        if (occurrences.count <= array.length / 2) {
+            return new BoyerMooreMajorityVote.Result(-1, -1, -1, null);
+        }
+        return new BoyerMooreMajorityVote.Result(summary.candidate, occurrences.firstIndex, occurrences.lastIndex, null);
+    }
+
+    private int chunkSize(int length) {
+        return Math.max(MIN_CHUNK_SIZE, length / (pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+    }
+
+    private static final class CandidateTask extends RecursiveTask<CandidateSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        // null on the untracked path.
+        private final PerformanceTracker tracker;
+
+        CandidateTask(int[] array, int from, int to, int chunkSize, boolean tracked) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.tracker = tracked ? new PerformanceTracker() : null;
+        }
+
+        @Override
+        protected CandidateSummary compute() {
+            if (to - from <= chunkSize) {
+                return tracker == null ? summarizeUntracked() : summarize();
+            }
+
+            int mid = (from + to) >>> 1;
+            CandidateTask left = new CandidateTask(array, from, mid, chunkSize, tracker != null);
+            CandidateTask right = new CandidateTask(array, mid, to, chunkSize, tracker != null);
+            left.fork();
+            CandidateSummary rightSummary = right.compute();
+            CandidateSummary leftSummary = left.join();
+
+            if (tracker != null) {
+                tracker.merge(left.tracker);
+                tracker.merge(right.tracker);
+                tracker.incrementComparisonCount();
+            }
+            return leftSummary.merge(rightSummary);
+        }
+
+        private CandidateSummary summarizeUntracked() {
+            int candidate = 0;
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int current = array[i];
+                if (count == 0) {
+                    candidate = current;
+                    count = 1;
+                } else if (candidate == current) {
+                    count++;
+                } else {
+                    count--;
+                }
+            }
+            return new CandidateSummary(candidate, count);
+        }
+
+        private CandidateSummary summarize() {
+            int candidate = 0;
+            int count = 0;
+
+            for (int i = from; i < to; i++) {
+                tracker.incrementArrayAccessCount();
+                int current = array[i];
+                tracker.incrementAssignmentCount();
+
+                tracker.incrementComparisonCount();
+                if (count == 0) {
+                    candidate = current;
+                    count = 1;
+                    tracker.incrementAssignmentCount();
+                    tracker.incrementAssignmentCount();
+                } else {
+                    tracker.incrementComparisonCount();
+                    if (candidate == current) {
+                        count++;
+                    } else {
+                        count--;
+                    }
+                    tracker.incrementAssignmentCount();
+                }
+            }
+
+            return new CandidateSummary(candidate, count);
+        }
+    }
+
+    private static final class Occurrences {
+        final long count;
+        final int firstIndex;
+        final int lastIndex;
+
+        Occurrences(long count, int firstIndex, int lastIndex) {
+            this.count = count;
+            this.firstIndex = firstIndex;
+            this.lastIndex = lastIndex;
+        }
+    }
+
+    private static final class VerifyTask extends RecursiveTask<Occurrences> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int candidate;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        // null on the untracked path.
+        private final PerformanceTracker tracker;
+
+        VerifyTask(int[] array, int candidate, int from, int to, int chunkSize, boolean tracked) {
+            this.array = array;
+            this.candidate = candidate;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.tracker = tracked ? new PerformanceTracker() : null;
+        }
+
+        @Override
+        protected Occurrences compute() {
+            if (to - from <= chunkSize) {
+                return tracker == null ? countUntracked() : count();
+            }
+
+            int mid = (from + to) >>> 1;
+            VerifyTask left = new VerifyTask(array, candidate, from, mid, chunkSize, tracker != null);
+            VerifyTask right = new VerifyTask(array, candidate, mid, to, chunkSize, tracker != null);
+            left.fork();
+            Occurrences rightOccurrences = right.compute();
+            Occurrences leftOccurrences = left.join();
+
+            if (tracker != null) {
+                tracker.merge(left.tracker);
+                tracker.merge(right.tracker);
+            }
+            return new Occurrences(
+                leftOccurrences.count + rightOccurrences.count,
+                leftOccurrences.firstIndex != -1 ? leftOccurrences.firstIndex : rightOccurrences.firstIndex,
+                rightOccurrences.lastIndex != -1 ? rightOccurrences.lastIndex : leftOccurrences.lastIndex
+            );
+        }
+
+        private Occurrences count() {
+            long count = 0;
+            int firstIndex = -1;
+            int lastIndex = -1;
+
+            for (int i = from; i < to; i++) {
+                tracker.incrementArrayAccessCount();
+                tracker.incrementComparisonCount();
+                if (array[i] == candidate) {
+                    if (firstIndex == -1) {
+                        firstIndex = i;
+                    }
+                    lastIndex = i;
+                    count++;
+                    tracker.incrementAssignmentCount();
+                }
+            }
+
+            return new Occurrences(count, firstIndex, lastIndex);
+        }
+
+        private Occurrences countUntracked() {
+            EqualityKernel kernel = EqualityKernels.DEFAULT;
+            int firstIndex = kernel.indexOf(array, from, to, candidate);
+            if (firstIndex == -1) {
+                return new Occurrences(0, -1, -1);
+            }
+            int lastIndex = kernel.lastIndexOf(array, firstIndex, to, candidate);
+            return new Occurrences(kernel.countEqual(array, firstIndex, lastIndex + 1, candidate), firstIndex, lastIndex);
+        }
+    }
+}
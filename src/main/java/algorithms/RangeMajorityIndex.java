@@ -0,0 +1,359 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+// Segment tree of Boyer-Moore summaries to find a range's candidate, plus a treap over (value, position)
+// pairs to count and locate that candidate inside the range. Queries and set() are O(log n), the treap
+// parts in expectation.
+public class RangeMajorityIndex {
+
+    private final int length;
+    private final int leafOffset;
+    private final int[] treeCandidates;
+    private final int[] treeCounts;
+
+    // Treap node i + 1 holds position i, keyed by (value at i, i); node 0 is the empty subtree. Nodes are
+    // never allocated or freed, set() only moves one between keys. The fields a descent reads share one
+    // stride-4 record, so each level costs one cache miss rather than one per field.
+    private static final int LEFT = 0;
+    private static final int RIGHT = 1;
+    private static final int SIZE = 2;
+    private static final int VALUE = 3;
+    private static final int STRIDE = 4;
+    private final int[] nodes;
+    private final int[] priority;
+    private int root;
+
+    private final PerformanceTracker buildMetrics = new PerformanceTracker();
+
+    public RangeMajorityIndex(int[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("array must not be null");
+        }
+        buildMetrics.startTimer();
+
+        int n = array.length;
+        length = n;
+        leafOffset = Integer.highestOneBit(Math.max(1, n) * 2 - 1);
+        treeCandidates = new int[2 * leafOffset];
+        treeCounts = new int[2 * leafOffset];
+
+        for (int i = 0; i < n; i++) {
+            buildMetrics.incrementArrayAccessCount();
+            treeCandidates[leafOffset + i] = array[i];
+            treeCounts[leafOffset + i] = 1;
+            buildMetrics.incrementAssignmentCount();
+        }
+        for (int node = leafOffset - 1; node >= 1; node--) {
+            pull(node, buildMetrics);
+        }
+
+        nodes = new int[(n + 1) * STRIDE];
+        priority = new int[n + 1];
+        Random random = new Random(n);
+        for (int node = 1; node <= n; node++) {
+            priority[node] = random.nextInt();
+        }
+
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            buildMetrics.incrementArrayAccessCount();
+            nodes[(i + 1) * STRIDE + VALUE] = array[i];
+            keys[i] = key(array[i], i);
+        }
+        Arrays.sort(keys);
+        buildTreap(keys);
+
+        buildMetrics.stopTimer();
+    }
+
+    // Cartesian tree over keys already in order, keeping its right spine on a stack: O(n). A node's
+    // subtree is complete once it leaves the stack, so that is when its size is known.
+    private void buildTreap(long[] keys) {
+        int[] stack = new int[keys.length];
+        int depth = 0;
+        for (long key : keys) {
+            int node = (int) key + 1;
+            int last = 0;
+            while (depth > 0 && priority[stack[depth - 1]] < priority[node]) {
+                last = stack[--depth];
+                update(last);
+            }
+            nodes[node * STRIDE + LEFT] = last;
+            if (depth > 0) {
+                nodes[stack[depth - 1] * STRIDE + RIGHT] = node;
+            }
+            stack[depth++] = node;
+            buildMetrics.incrementAssignmentCount();
+        }
+        while (depth > 0) {
+            update(stack[--depth]);
+        }
+        root = keys.length == 0 ? 0 : stack[0];
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public int get(int index) {
+        Objects.checkIndex(index, length);
+        return nodes[(index + 1) * STRIDE + VALUE];
+    }
+
+    public PerformanceTracker getBuildMetrics() {
+        return buildMetrics;
+    }
+
+    // Approximate heap footprint of the index structures, excluding object headers.
+    public long getMemoryFootprintBytes() {
+        long bytes = (long) treeCandidates.length * Integer.BYTES * 2;
+        bytes += (long) nodes.length * Integer.BYTES;
+        bytes += (long) priority.length * Integer.BYTES;
+        return bytes;
+    }
+
+    // Majority of positions from..to inclusive; indices in the Result are absolute positions in the array.
+    public BoyerMooreMajorityVote.Result query(int from, int to) {
+        if (from < 0 || to >= length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + "] for size " + length);
+        }
+
+        PerformanceTracker tracker = new PerformanceTracker();
+        tracker.startTimer();
+
+        int candidate = 0;
+        int count = 0;
+        for (int left = from + leafOffset, right = to + leafOffset + 1; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                tracker.incrementArrayAccessCount();
+                int nodeCount = treeCounts[left];
+                int nodeCandidate = treeCandidates[left++];
+                tracker.incrementComparisonCount();
+                if (candidate == nodeCandidate || count == 0) {
+                    candidate = nodeCandidate;
+                    count += nodeCount;
+                } else if (count >= nodeCount) {
+                    count -= nodeCount;
+                } else {
+                    candidate = nodeCandidate;
+                    count = nodeCount - count;
+                }
+                tracker.incrementAssignmentCount();
+            }
+            if ((right & 1) == 1) {
+                tracker.incrementArrayAccessCount();
+                int nodeCount = treeCounts[--right];
+                int nodeCandidate = treeCandidates[right];
+                tracker.incrementComparisonCount();
+                if (candidate == nodeCandidate || count == 0) {
+                    candidate = nodeCandidate;
+                    count += nodeCount;
+                } else if (count >= nodeCount) {
+                    count -= nodeCount;
+                } else {
+                    candidate = nodeCandidate;
+                    count = nodeCount - count;
+                }
+                tracker.incrementAssignmentCount();
+            }
+        }
+
+        long before = rankAndCeiling(key(candidate, from), tracker);
+        long through = rankAndFloor(key(candidate, to), tracker);
+        int occurrences = (int) (through >>> 32) - (int) (before >>> 32);
+
+        tracker.incrementComparisonCount();
+        if (occurrences <= (to - from + 1) / 2) {
+            tracker.stopTimer();
+            return new BoyerMooreMajorityVote.Result(-1, -1, -1, tracker);
+        }
+
+        // With occurrences > 0 both nodes hold the candidate inside the range.
+        tracker.stopTimer();
+        return new BoyerMooreMajorityVote.Result(candidate, (int) before - 1, (int) through - 1, tracker);
+    }
+
+    public void set(int index, int value) {
+        int old = get(index);
+        if (old == value) {
+            return;
+        }
+        root = remove(root, key(old, index));
+        int record = (index + 1) * STRIDE;
+        nodes[record + LEFT] = 0;
+        nodes[record + RIGHT] = 0;
+        nodes[record + SIZE] = 1;
+        nodes[record + VALUE] = value;
+        root = insert(root, index + 1, key(value, index));
+
+        int leaf = index + leafOffset;
+        treeCandidates[leaf] = value;
+        for (leaf >>= 1; leaf >= 1; leaf >>= 1) {
+            pull(leaf, null);
+        }
+    }
+
+    private void pull(int node, PerformanceTracker tracker) {
+        int leftCandidate = treeCandidates[2 * node];
+        int leftCount = treeCounts[2 * node];
+        int rightCandidate = treeCandidates[2 * node + 1];
+        int rightCount = treeCounts[2 * node + 1];
+
+        if (leftCandidate == rightCandidate || rightCount == 0) {
+            treeCandidates[node] = leftCandidate;
+            treeCounts[node] = leftCount + rightCount;
+        } else if (leftCount >= rightCount) {
+            treeCandidates[node] = leftCandidate;
+            treeCounts[node] = leftCount - rightCount;
+        } else {
+            treeCandidates[node] = rightCandidate;
+            treeCounts[node] = rightCount - leftCount;
+        }
+
+        if (tracker != null) {
+            tracker.incrementComparisonCount();
+            tracker.incrementAssignmentCount();
+        }
+    }
+
+    // Value in the high half so keys order by value first, then by position.
+    private static long key(int value, int position) {
+        return ((long) value << 32) | position;
+    }
+
+    private long keyOf(int node) {
+        return key(nodes[node * STRIDE + VALUE], node - 1);
+    }
+
+    private int left(int node) {
+        return nodes[node * STRIDE + LEFT];
+    }
+
+    private int right(int node) {
+        return nodes[node * STRIDE + RIGHT];
+    }
+
+    private void setLeft(int node, int child) {
+        nodes[node * STRIDE + LEFT] = child;
+    }
+
+    private void setRight(int node, int child) {
+        nodes[node * STRIDE + RIGHT] = child;
+    }
+
+    private void update(int node) {
+        nodes[node * STRIDE + SIZE] = nodes[left(node) * STRIDE + SIZE] + nodes[right(node) * STRIDE + SIZE] + 1;
+    }
+
+    // Keys ordered before key and the first node at or after it share one descent path.
+    // Returns count << 32 | node, where node is 0 if there is none.
+    private long rankAndCeiling(long key, PerformanceTracker tracker) {
+        int count = 0;
+        int best = 0;
+        int node = root;
+        while (node != 0) {
+            tracker.incrementArrayAccessCount();
+            tracker.incrementComparisonCount();
+            if (keyOf(node) < key) {
+                count += nodes[left(node) * STRIDE + SIZE] + 1;
+                node = right(node);
+            } else {
+                best = node;
+                node = left(node);
+            }
+        }
+        return ((long) count << 32) | best;
+    }
+
+    // Keys at or before key and the last of them: count << 32 | node.
+    private long rankAndFloor(long key, PerformanceTracker tracker) {
+        int count = 0;
+        int best = 0;
+        int node = root;
+        while (node != 0) {
+            tracker.incrementArrayAccessCount();
+            tracker.incrementComparisonCount();
+            if (keyOf(node) <= key) {
+                count += nodes[left(node) * STRIDE + SIZE] + 1;
+                best = node;
+                node = right(node);
+            } else {
+                node = left(node);
+            }
+        }
+        return ((long) count << 32) | best;
+    }
+
+    // Recursion depth is the treap height, O(log n) in expectation.
+    private int insert(int tree, int node, long key) {
+        if (tree == 0) {
+            return node;
+        }
+        if (key < keyOf(tree)) {
+            setLeft(tree, insert(left(tree), node, key));
+            if (priority[left(tree)] > priority[tree]) {
+                tree = rotateRight(tree);
+            }
+        } else {
+            setRight(tree, insert(right(tree), node, key));
+            if (priority[right(tree)] > priority[tree]) {
+                tree = rotateLeft(tree);
+            }
+        }
+        update(tree);
+        return tree;
+    }
+
+    private int remove(int tree, long key) {
+        long treeKey = keyOf(tree);
+        if (key == treeKey) {
+            return merge(left(tree), right(tree));
+        }
+        if (key < treeKey) {
+            setLeft(tree, remove(left(tree), key));
+        } else {
+            setRight(tree, remove(right(tree), key));
+        }
+        update(tree);
+        return tree;
+    }
+
+    // Every key in a is smaller than every key in b.
+    private int merge(int a, int b) {
+        if (a == 0) {
+            return b;
+        }
+        if (b == 0) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            setRight(a, merge(right(a), b));
+            update(a);
+            return a;
+        }
+        setLeft(b, merge(a, left(b)));
+        update(b);
+        return b;
+    }
+
+    private int rotateRight(int node) {
+        int top = left(node);
+        setLeft(node, right(top));
+        setRight(top, node);
+        update(node);
+        return top;
+    }
+
+    private int rotateLeft(int node) {
+        int top = right(node);
+        setRight(node, left(top));
+        setLeft(top, node);
+        update(node);
+        return top;
+    }
+}
@@ -0,0 +1,165 @@
+package algorithms;
+
+import metrics.OperationTracker;
+import metrics.PerformanceTracker;
+
+import java.util.Arrays;
+
+// Boyer-Moore over (value, runLength) pairs: each run is one weighted update, and indices in the
+// Result refer to positions in the decoded array.
+public class RunLengthMajorityVote {
+
+    public static class Encoded {
+        public final int[] values;
+        public final int[] lengths;
+
+        public Encoded(int[] values, int[] lengths) {
+            if (values.length != lengths.length) {
+                throw new IllegalArgumentException("values and lengths differ in length: "
+                    + values.length + " vs " + lengths.length);
+            }
+            this.values = values;
+            this.lengths = lengths;
+        }
+
+        public int runCount() {
+            return values.length;
+        }
+    }
+
+    public static Encoded encode(int[] array) {
+        int[] values = new int[16];
+        int[] lengths = new int[16];
+        int runs = 0;
+
+        for (int i = 0; i < array.length; ) {
+            int value = array[i];
+            int start = i;
+            while (i < array.length && array[i] == value) {
+                i++;
+            }
+            if (runs == values.length) {
+                values = Arrays.copyOf(values, runs * 2);
+                lengths = Arrays.copyOf(lengths, runs * 2);
+            }
+            values[runs] = value;
+            lengths[runs] = i - start;
+            runs++;
+        }
+        return new Encoded(Arrays.copyOf(values, runs), Arrays.copyOf(lengths, runs));
+    }
+
+    public static int[] decode(Encoded encoded) {
+        int[] array = new int[decodedLength(encoded.lengths)];
+        int offset = 0;
+        for (int run = 0; run < encoded.values.length; run++) {
+            Arrays.fill(array, offset, offset + encoded.lengths[run], encoded.values[run]);
+            offset += encoded.lengths[run];
+        }
+        return array;
+    }
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(Encoded encoded) {
+        return findMajorityElement(encoded, new PerformanceTracker());
+    }
+
+    public static BoyerMooreMajorityVote.Result findMajorityElement(Encoded encoded, OperationTracker tracker) {
+        PerformanceTracker metrics = tracker instanceof PerformanceTracker ? (PerformanceTracker) tracker : null;
+        int[] values = encoded.values;
+        int[] lengths = encoded.lengths;
+        int n = decodedLength(lengths);
+
+        tracker.startTimer();
+        if (n == 0) {
+            tracker.stopTimer();
+            return new BoyerMooreMajorityVote.Result(-1, -1, -1, metrics);
+        }
+
+        // Weighted update: equal candidates add, otherwise the heavier side survives with the difference.
+        int candidate = 0;
+        long count = 0;
+        for (int run = 0; run < values.length; run++) {
+            tracker.incrementArrayAccessCount();
+            int value = values[run];
+            int length = lengths[run];
+
+            tracker.incrementComparisonCount();
+            if (count == 0 || candidate == value) {
+                candidate = value;
+                count += length;
+            } else if (count >= length) {
+                count -= length;
+            } else {
+                candidate = value;
+                count = length - count;
+            }
+            tracker.incrementAssignmentCount();
+        }
+
+        // Forward over runs until the majority is confirmed or can no longer be reached.
+        long half = n / 2;
+        long maxMisses = n - half - 1;
+        long occurrences = 0;
+        long misses = 0;
+        int firstIndex = -1;
+        int confirmedRun = -1;
+        int offset = 0;
+        for (int run = 0; run < values.length; run++) {
+            tracker.incrementArrayAccessCount();
+            tracker.incrementComparisonCount();
+            if (values[run] == candidate && lengths[run] > 0) {
+                if (firstIndex == -1) {
+                    firstIndex = offset;
+                }
+                occurrences += lengths[run];
+                tracker.incrementAssignmentCount();
+                if (occurrences > half) {
+                    confirmedRun = run;
+                    break;
+                }
+            } else {
+                misses += lengths[run];
+                tracker.incrementAssignmentCount();
+                if (misses > maxMisses) {
+                    break;
+                }
+            }
+            offset += lengths[run];
+        }
+
+        if (confirmedRun == -1) {
+            tracker.stopTimer();
+            return new BoyerMooreMajorityVote.Result(-1, -1, -1, metrics);
+        }
+
+        // Backward from the end down to the confirming run for the last occurrence.
+        int end = n;
+        int lastIndex = -1;
+        for (int run = values.length - 1; run >= confirmedRun; run--) {
+            tracker.incrementArrayAccessCount();
+            tracker.incrementComparisonCount();
+            if (values[run] == candidate && lengths[run] > 0) {
+                lastIndex = end - 1;
+                break;
+            }
+            end -= lengths[run];
+        }
+
+        tracker.stopTimer();
+        return new BoyerMooreMajorityVote.Result(candidate, firstIndex, lastIndex, metrics);
+    }
+
+    private static int decodedLength(int[] lengths) {
+        long total = 0;
+        for (int length : lengths) {
+            if (length < 0) {
+                throw new IllegalArgumentException("Run length must not be negative: " + length);
+            }
+            total += length;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Decoded length " + total + " exceeds int indices");
+        }
+        return (int) total;
+    }
+}
@@ -0,0 +1,46 @@
+package algorithms;
+
+// Plain loops; without tracker calls in the body C2 is free to unroll and auto-vectorize the count.
+final class ScalarEqualityKernel implements EqualityKernel {
+
+    static final ScalarEqualityKernel INSTANCE = new ScalarEqualityKernel();
+
+    private ScalarEqualityKernel() {
+    }
+
+    @Override
+    public int countEqual(int[] array, int from, int to, int value) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (array[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int indexOf(int[] array, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(int[] array, int from, int to, int value) {
+        for (int i = to - 1; i >= from; i--) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
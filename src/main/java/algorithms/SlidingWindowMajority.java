@@ -0,0 +1,155 @@
+package algorithms;
+
+// Majority of the most recent windowSize values, maintained in amortized O(1) per push.
+public class SlidingWindowMajority {
+
+    private final int windowSize;
+    private final int[] ring;
+    // For each ring slot, the absolute position of the next occurrence of the same value (-1 if none yet).
+    private final long[] nextSame;
+    private long pushed;
+
+    private final int mask;
+    private final int[] keys;
+    private final int[] counts;
+    private final long[] firstPositions;
+    private final long[] lastPositions;
+
+    private boolean hasMajority;
+    private int majority;
+
+    public SlidingWindowMajority(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.ring = new int[windowSize];
+        this.nextSame = new long[windowSize];
+
+        int capacity = Integer.highestOneBit(Math.max(2, windowSize) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.keys = new int[capacity];
+        this.counts = new int[capacity];
+        this.firstPositions = new long[capacity];
+        this.lastPositions = new long[capacity];
+    }
+
+    public void push(int value) {
+        long position = pushed;
+        int ringSlot = (int) (position % windowSize);
+
+        if (position >= windowSize) {
+            evict(ring[ringSlot], ringSlot);
+        }
+
+        ring[ringSlot] = value;
+        nextSame[ringSlot] = -1;
+
+        int slot = findSlot(value);
+        if (counts[slot] == 0) {
+            keys[slot] = value;
+            firstPositions[slot] = position;
+        } else {
+            nextSame[(int) (lastPositions[slot] % windowSize)] = position;
+        }
+        counts[slot]++;
+        lastPositions[slot] = position;
+        pushed++;
+
+        // Only the value just pushed can become a new majority; a previous majority may only lose it.
+        int half = size() / 2;
+        if (hasMajority && majority != value && counts[findSlot(majority)] > half) {
+            return;
+        }
+        hasMajority = counts[slot] > half;
+        majority = value;
+    }
+
+    private void evict(int value, int ringSlot) {
+        int slot = findSlot(value);
+        if (--counts[slot] == 0) {
+            removeSlot(slot);
+        } else {
+            firstPositions[slot] = nextSame[ringSlot];
+        }
+    }
+
+    public int size() {
+        return (int) Math.min(pushed, windowSize);
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public boolean hasMajority() {
+        return hasMajority;
+    }
+
+    public int getMajority() {
+        if (!hasMajority) {
+            throw new IllegalStateException("Current window has no majority element");
+        }
+        return majority;
+    }
+
+    public int getMajorityCount() {
+        return hasMajority ? counts[findSlot(majority)] : 0;
+    }
+
+    // Positions are relative to the window: 0 is the oldest retained value.
+    public int getFirstPosition() {
+        return hasMajority ? (int) (firstPositions[findSlot(majority)] - windowStart()) : -1;
+    }
+
+    public int getLastPosition() {
+        return hasMajority ? (int) (lastPositions[findSlot(majority)] - windowStart()) : -1;
+    }
+
+    public BoyerMooreMajorityVote.Result currentResult() {
+        if (!hasMajority) {
+            return new BoyerMooreMajorityVote.Result(-1, -1, -1, null);
+        }
+        return new BoyerMooreMajorityVote.Result(majority, getFirstPosition(), getLastPosition(), null);
+    }
+
+    private long windowStart() {
+        return pushed - size();
+    }
+
+    private int findSlot(int key) {
+        int slot = mix(key) & mask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones.
+    private void removeSlot(int hole) {
+        int current = hole;
+        while (true) {
+            current = (current + 1) & mask;
+            if (counts[current] == 0) {
+                break;
+            }
+            int home = mix(keys[current]) & mask;
+            boolean movable = hole <= current
+                ? home <= hole || home > current
+                : home <= hole && home > current;
+            if (movable) {
+                keys[hole] = keys[current];
+                counts[hole] = counts[current];
+                firstPositions[hole] = firstPositions[current];
+                lastPositions[hole] = lastPositions[current];
+                hole = current;
+            }
+        }
+        counts[hole] = 0;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,140 @@
+package algorithms;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// Multi-producer Boyer-Moore accumulator: each thread hashes to a padded stripe updated by CAS,
+// and reads merge the stripe summaries with the pairwise combine rule. A stripe packs the candidate in
+// its high 32 bits and an unsigned 32-bit count in the low bits.
+public class StripedMajorityAccumulator implements IntConsumer {
+
+    // 16 longs = 128 bytes between stripes keeps neighbouring stripes off each other's cache lines.
+    private static final int PADDING = 16;
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final AtomicLongArray stripes;
+    private final int stripeMask;
+    private final LongAdder elementCount = new LongAdder();
+    // Takes over a stripe whose count would leave 32 bits. Boyer-Moore summaries merge in any order,
+    // so moving one aside keeps the majority guarantee; this allocates once per ~2^32 net votes.
+    private final AtomicReference<CandidateSummary> overflow = new AtomicReference<>(CandidateSummary.EMPTY);
+
+    public StripedMajorityAccumulator() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedMajorityAccumulator(int minStripes) {
+        if (minStripes < 1) {
+            throw new IllegalArgumentException("minStripes must be positive: " + minStripes);
+        }
+        int stripeCount = Integer.highestOneBit(minStripes * 2 - 1);
+        this.stripes = new AtomicLongArray(stripeCount * PADDING);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public int getStripeCount() {
+        return stripeMask + 1;
+    }
+
+    @Override
+    public void accept(int value) {
+        add(value, 1);
+        elementCount.increment();
+    }
+
+    // Summarises the slice locally and publishes it with a single CAS.
+    public void accept(int[] values, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, values.length);
+        if (length == 0) {
+            return;
+        }
+
+        int candidate = 0;
+        long count = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int current = values[i];
+            if (count == 0) {
+                candidate = current;
+                count = 1;
+            } else if (candidate == current) {
+                count++;
+            } else {
+                count--;
+            }
+        }
+
+        if (count > 0) {
+            add(candidate, count);
+        }
+        elementCount.add(length);
+    }
+
+    // Not atomic with respect to concurrent producers; exact once they have finished.
+    public CandidateSummary snapshot() {
+        CandidateSummary merged = overflow.get();
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            long state = stripes.get(stripe * PADDING);
+            merged = merged.merge(new CandidateSummary((int) (state >>> 32), state & COUNT_MASK));
+        }
+        return merged;
+    }
+
+    public long getElementCount() {
+        return elementCount.sum();
+    }
+
+    // Call after producers have stopped; replays the source to produce the exact Result.
+    public BoyerMooreMajorityVote.Result verify(Supplier<IntStream> source) {
+        CandidateSummary summary = snapshot();
+        return MajorityAccumulator.verifyStream(summary.candidate, summary.count > 0, getElementCount(), source);
+    }
+
+    public void reset() {
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            stripes.set(stripe * PADDING, 0);
+        }
+        overflow.set(CandidateSummary.EMPTY);
+        elementCount.reset();
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & stripeMask) * PADDING;
+    }
+
+    // Adds weight votes for value to the calling thread's stripe; does not count elements.
+    void add(int value, long weight) {
+        int index = stripeIndex();
+        while (true) {
+            long state = stripes.get(index);
+            int candidate = (int) (state >>> 32);
+            long count = state & COUNT_MASK;
+
+            if (count == 0 || candidate == value) {
+                count += weight;
+                candidate = value;
+            } else if (count >= weight) {
+                count -= weight;
+            } else {
+                count = weight - count;
+                candidate = value;
+            }
+
+            if (count <= COUNT_MASK) {
+                if (stripes.compareAndSet(index, state, ((long) candidate << 32) | count)) {
+                    return;
+                }
+            } else if (stripes.compareAndSet(index, state, 0)) {
+                CandidateSummary spilled = new CandidateSummary(candidate, count);
+                overflow.accumulateAndGet(spilled, CandidateSummary::merge);
+                return;
+            }
+        }
+    }
+}
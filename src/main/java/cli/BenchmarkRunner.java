@@ -1,12 +1,45 @@
 package cli;
 
 import algorithms.BoyerMooreMajorityVote;
+import algorithms.GroupedMajorityVote;
+import algorithms.HistogramMajorityVote;
+import algorithms.MajorityAccumulator;
+import algorithms.MajorityBatch;
+import algorithms.MajorityJobExecutor;
+import algorithms.MappedFileMajorityVote;
+import algorithms.MisraGriesHeavyHitters;
+import algorithms.RangeMajorityIndex;
+import algorithms.RunLengthMajorityVote;
+import algorithms.SlidingWindowMajority;
+import algorithms.StripedMajorityAccumulator;
+import algorithms.ParallelBoyerMooreMajorityVote;
+import metrics.LatencyRecorder;
+import metrics.MetricsRegistry;
+import metrics.NoOpTracker;
 import metrics.PerformanceTracker;
 
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
 
 public class BenchmarkRunner {
 
@@ -14,8 +47,36 @@ public class BenchmarkRunner {
     private static final String CORRECTNESS_CSV = "correctness_validation.csv";
     private static final String PERFORMANCE_CSV = "performance_analysis.csv";
     private static final String MEMORY_CSV = "memory_profiling.csv";
+    private static final String INSTRUMENTATION_CSV = "instrumentation_overhead.csv";
+    private static final String PARALLEL_CSV = "parallel_speedup.csv";
+    private static final String HEAVY_HITTERS_CSV = "heavy_hitters.csv";
+    private static final String SLIDING_WINDOW_CSV = "sliding_window.csv";
+    private static final String RANGE_QUERY_CSV = "range_queries.csv";
+    private static final String HISTOGRAM_CSV = "histogram_crossover.csv";
+    private static final String BATCH_CSV = "batch_allocation.csv";
+    private static final String EXECUTOR_CSV = "job_executor.csv";
+    private static final String STRIPED_CSV = "striped_accumulator.csv";
+    private static final String CANDIDATE_CSV = "candidate_kernels.csv";
+    private static final String SORTED_CSV = "sorted_input.csv";
+    private static final String RLE_CSV = "run_length.csv";
+    private static final String BUFFER_CSV = "buffer_input.csv";
+    private static final String TEXT_CSV = "text_ingestion.csv";
+    private static final String METRICS_CSV = "metrics_overhead.csv";
+    private static final String GROUP_BY_CSV = "group_by.csv";
+
+    // Repetitions per configuration for the latency percentiles, e.g. -Dbenchmark.iterations=5000.
+    private static final int LATENCY_ITERATIONS = Integer.getInteger("benchmark.iterations", 1000);
+    private static final int LATENCY_WARMUP = Integer.getInteger("benchmark.warmup", 200);
+
+    // Sink for benchmark results so the JIT cannot drop the measured calls.
+    private static volatile int blackhole;
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            runBenchmarkMode(args);
+            return;
+        }
+
         System.out.println("Boyer-Moore Majority Vote Algorithm - Comprehensive Testing Suite");
         System.out.println("=============================================================\n");
 
@@ -38,6 +99,71 @@ public class BenchmarkRunner {
         }
     }
 
+    private static void runBenchmarkMode(String[] args) {
+        try {
+            switch (args[0]) {
+                case "instrumentation":
+                    runInstrumentationOverhead();
+                    break;
+                case "parallel":
+                    runParallelSpeedup();
+                    break;
+                case "heavyhitters":
+                    runHeavyHittersBenchmark();
+                    break;
+                case "window":
+                    runSlidingWindowBenchmark();
+                    break;
+                case "range":
+                    runRangeQueryBenchmark();
+                    break;
+                case "histogram":
+                    runHistogramCrossover();
+                    break;
+                case "batch":
+                    runBatchAllocationBenchmark();
+                    break;
+                case "executor":
+                    runJobExecutorBenchmark();
+                    break;
+                case "striped":
+                    runStripedAccumulatorBenchmark();
+                    break;
+                case "candidate":
+                    runCandidateKernelBenchmark();
+                    break;
+                case "sorted":
+                    runSortedInputBenchmark();
+                    break;
+                case "rle":
+                    runRunLengthBenchmark();
+                    break;
+                case "buffers":
+                    runBufferInputBenchmark();
+                    break;
+                case "text":
+                    runTextIngestion(args.length > 1 ? args[1] : null);
+                    break;
+                case "mmap":
+                    runMappedFileBenchmark(args.length > 1 ? Integer.parseInt(args[1]) : 256);
+                    break;
+                case "metrics":
+                    runMetricsOverheadBenchmark();
+                    break;
+                case "groupby":
+                    runGroupByBenchmark(args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000);
+                    break;
+                default:
+                    System.err.println("Unknown benchmark mode: " + args[0]);
+                    System.err.println("Available modes: instrumentation, parallel, heavyhitters, window, range, histogram, batch, executor, striped, candidate, sorted, rle, buffers, text [file|-], mmap [sizeMB], metrics, groupby [rows]");
+                    return;
+            }
+        } catch (Exception e) {
+            System.err.println("Error during benchmark: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
     private static void runCorrectnessValidation() throws IOException {
         System.out.println("Running Correctness Validation Tests...");
 
@@ -144,7 +270,7 @@ public class BenchmarkRunner {
                          (result.firstIndex == testCase.expectedFirstIndex) &&
                          (result.lastIndex == testCase.expectedLastIndex);
 
-        writer.write(String.format("%s,%d,%s,%d,%d,%s,%.6f\n",
+        writer.write(String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%s,%.6f\n",
             testCase.name,
             testCase.array.length,
             getInputType(testCase.array),
@@ -166,31 +292,37 @@ public class BenchmarkRunner {
     }
 
     private static void runPerformanceAnalysis() throws IOException {
-        System.out.println("Running Performance Analysis...");
+        System.out.println("Running Performance Analysis (" + LATENCY_ITERATIONS + " iterations, "
+            + LATENCY_WARMUP + " warmup)...");
 
         int[] sizes = {100, 500, 1000, 5000, 10000, 25000, 50000, 100000};
         String[] distributions = {"Random", "Sorted", "ReverseSorted", "NearlySorted"};
+        LatencyRecorder latencies = new LatencyRecorder();
 
         try (FileWriter writer = new FileWriter(PERFORMANCE_CSV)) {
-            writer.write("ArraySize,Distribution,Comparisons,ArrayAccesses,Assignments,ExecutionTimeMs\n");
+            writer.write("ArraySize,Distribution,Comparisons,ArrayAccesses,Assignments,ExecutionTimeMs,"
+                + latencies.toCSVHeader() + "\n");
 
             for (int size : sizes) {
                 for (String distribution : distributions) {
                     int[] array = generateArray(size, distribution);
 
-                    BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(array);
+                    BoyerMooreMajorityVote.Result result = recordLatencies(array, latencies);
 
-                    writer.write(String.format("%d,%s,%d,%d,%d,%.6f\n",
+                    // Operation counts are identical on every run; ExecutionTimeMs is the mean.
+                    writer.write(String.format(Locale.ROOT, "%d,%s,%d,%d,%d,%.6f,%s\n",
                         size,
                         distribution,
                         result.metrics.getComparisonCount(),
                         result.metrics.getArrayAccessCount(),
                         result.metrics.getAssignmentCount(),
-                        result.metrics.getExecutionTimeMs()
+                        latencies.getMeanNanos() / 1_000_000.0,
+                        latencies.toCSVRow()
                     ));
 
-                    System.out.printf("  Size: %6d, Distribution: %12s, Time: %8.3f ms%n",
-                        size, distribution, result.metrics.getExecutionTimeMs());
+                    System.out.printf("  Size: %6d, Distribution: %12s, p50: %8.3f us, p99: %8.3f us%n",
+                        size, distribution, latencies.getValueAtPercentile(50) / 1000.0,
+                        latencies.getValueAtPercentile(99) / 1000.0);
                 }
             }
         }
@@ -201,46 +333,44 @@ public class BenchmarkRunner {
     private static void runMemoryProfiling() throws IOException {
         System.out.println("Running Memory Profiling...");
 
+        if (!PerformanceTracker.isAllocationTrackingSupported()) {
+            System.out.println("  Per-thread allocation is not supported by this JVM; AllocatedBytes will be -1");
+        }
+
         try (FileWriter writer = new FileWriter(MEMORY_CSV)) {
-            writer.write("ArraySize,UsedMemoryMB,TotalMemoryMB,MaxMemoryMB,GCCount,GCTimeMs\n");
+            writer.write("ArraySize,AllocatedBytes,AllocatedBytesPerElement,GCCount,GCTimeMs,ExecutionTimeMs,"
+                + "TotalMemoryMB,MaxMemoryMB\n");
 
             int[] sizes = {1000, 10000, 50000, 100000};
+            Random random = new Random(42);
 
             for (int size : sizes) {
-                // Force garbage collection before measurement
-                System.gc();
-                Thread.yield();
-
-                long beforeMemory = getUsedMemory();
-                long beforeTime = System.nanoTime();
-
-                int[] array = generateRandomArrayWithMajority(size, new Random());
-                BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(array);
-
-                long afterTime = System.nanoTime();
-
-                // Force garbage collection after measurement
-                System.gc();
-                Thread.yield();
+                int[] array = generateRandomArrayWithMajority(size, random);
+                // Warm up so the measured call runs compiled code, whose allocations can differ from the interpreter's.
+                for (int i = 0; i < 200; i++) {
+                    BoyerMooreMajorityVote.findMajorityElement(array);
+                }
 
-                long afterMemory = getUsedMemory();
+                // Wraps the whole public call, so the tracker and Result it creates are charged too.
+                PerformanceTracker resources = new PerformanceTracker(true);
+                resources.startTimer();
+                BoyerMooreMajorityVote.findMajorityElement(array);
+                resources.stopTimer();
 
                 Runtime runtime = Runtime.getRuntime();
-                long memoryUsed = afterMemory - beforeMemory;
-                long totalMemory = runtime.totalMemory();
-                long maxMemory = runtime.maxMemory();
-
-                writer.write(String.format("%d,%.2f,%.2f,%.2f,%d,%.3f\n",
+                writer.write(String.format(Locale.ROOT, "%d,%d,%.4f,%d,%d,%.3f,%.2f,%.2f\n",
                     size,
-                    memoryUsed / (1024.0 * 1024.0),
-                    totalMemory / (1024.0 * 1024.0),
-                    maxMemory / (1024.0 * 1024.0),
-                    0, // GC count (simplified)
-                    (afterTime - beforeTime) / 1_000_000.0
+                    resources.getAllocatedBytes(),
+                    resources.getAllocatedBytes() / (double) size,
+                    resources.getGcCount(),
+                    resources.getGcTimeMs(),
+                    resources.getExecutionTimeMs(),
+                    runtime.totalMemory() / (1024.0 * 1024.0),
+                    runtime.maxMemory() / (1024.0 * 1024.0)
                 ));
 
-                System.out.printf("  Size: %6d, Memory Used: %6.2f MB%n",
-                    size, memoryUsed / (1024.0 * 1024.0));
+                System.out.printf("  Size: %6d, Allocated: %8d B, GCs: %d (%d ms)%n",
+                    size, resources.getAllocatedBytes(), resources.getGcCount(), resources.getGcTimeMs());
             }
         }
 
@@ -251,27 +381,887 @@ public class BenchmarkRunner {
         System.out.println("Running Scalability Tests...");
 
         int[] sizes = {100, 1000, 10000, 100000};
+        LatencyRecorder latencies = new LatencyRecorder();
 
         try (FileWriter writer = new FileWriter(BENCHMARK_CSV)) {
-            writer.write("ArraySize,Comparisons,ArrayAccesses,Assignments,ExecutionTimeMs\n");
+            writer.write("ArraySize,Comparisons,ArrayAccesses,Assignments,ExecutionTimeMs," + latencies.toCSVHeader() + "\n");
 
             for (int size : sizes) {
                 System.out.println("  Testing size: " + size);
 
-                int[] array = generateRandomArrayWithMajority(size, new Random());
-                BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(array);
+                int[] array = generateRandomArrayWithMajority(size, new Random(42));
+                BoyerMooreMajorityVote.Result result = recordLatencies(array, latencies);
 
-                writer.write(result.metrics.toCSVRow(size) + "\n");
+                writer.write(result.metrics.toCSVRow(size) + "," + latencies.toCSVRow() + "\n");
 
                 System.out.println("    " + result.metrics.toString());
+                System.out.println("    " + latencies);
             }
         }
 
         System.out.println("  ✓ Scalability tests completed");
     }
 
-    private static int[] generateArray(int size, String distribution) {
-        Random random = new Random();
+    private static void runInstrumentationOverhead() throws IOException {
+        System.out.println("Running Instrumentation Overhead Benchmark...");
+
+        int[] sizes = {1000, 10000, 100000, 1000000};
+
+        try (FileWriter writer = new FileWriter(INSTRUMENTATION_CSV)) {
+            writer.write("ArraySize,Mode,CallsPerSecond,MElementsPerSecond\n");
+
+            for (int size : sizes) {
+                int[] array = generateRandomArrayWithMajority(size, new Random(42));
+                int iterations = Math.max(50, 50_000_000 / size);
+
+                double tracked = measureCallsPerSecond(
+                    () -> BoyerMooreMajorityVote.findMajorityElement(array).lastIndex, iterations);
+                double noOp = measureCallsPerSecond(
+                    () -> BoyerMooreMajorityVote.findMajorityElement(array, NoOpTracker.INSTANCE).lastIndex, iterations);
+                double untracked = measureCallsPerSecond(
+                    () -> BoyerMooreMajorityVote.findMajorityElementUntracked(array).lastIndex, iterations);
+
+                writeThroughputRow(writer, size, "PerformanceTracker", tracked);
+                writeThroughputRow(writer, size, "NoOpTracker", noOp);
+                writeThroughputRow(writer, size, "Untracked", untracked);
+
+                System.out.printf("  Size: %7d, Tracked: %10.1f calls/s, NoOp: %10.1f calls/s, Untracked: %10.1f calls/s (%.1fx)%n",
+                    size, tracked, noOp, untracked, untracked / tracked);
+            }
+        }
+
+        System.out.println("  ✓ Instrumentation overhead benchmark completed");
+    }
+
+    private static void runParallelSpeedup() throws IOException {
+        System.out.println("Running Parallel Speedup Benchmark...");
+
+        int[] sizes = {100000, 1000000, 10000000, 50000000};
+        ParallelBoyerMooreMajorityVote parallel = new ParallelBoyerMooreMajorityVote();
+        System.out.println("  Parallelism: " + java.util.concurrent.ForkJoinPool.commonPool().getParallelism()
+            + ", sequential threshold: " + parallel.getSequentialThreshold());
+
+        try (FileWriter writer = new FileWriter(PARALLEL_CSV)) {
+            writer.write("ArraySize,Mode,CallsPerSecond,MElementsPerSecond\n");
+
+            for (int size : sizes) {
+                int[] array = generateRandomArrayWithMajority(size, new Random(42));
+                int iterations = Math.max(5, 20_000_000 / size);
+
+                // Untracked on both sides: per-element tracker updates would dominate either measurement.
+                double sequential = measureCallsPerSecond(
+                    () -> BoyerMooreMajorityVote.findMajorityElementUntracked(array).lastIndex, iterations);
+                double forkJoin = measureCallsPerSecond(
+                    () -> parallel.findMajorityElementUntracked(array).lastIndex, iterations);
+
+                writeThroughputRow(writer, size, "Sequential", sequential);
+                writeThroughputRow(writer, size, "ForkJoin", forkJoin);
+
+                System.out.printf("  Size: %8d, Sequential: %9.1f calls/s, ForkJoin: %9.1f calls/s (%.2fx)%n",
+                    size, sequential, forkJoin, forkJoin / sequential);
+            }
+        }
+
+        System.out.println("  ✓ Parallel speedup benchmark completed");
+    }
+
+    private static void runHeavyHittersBenchmark() throws IOException {
+        System.out.println("Running Misra-Gries Heavy Hitters Benchmark...");
+
+        int[] sizes = {10000, 100000, 1000000};
+        int[] ks = {2, 10, 100, 500};
+
+        try (FileWriter writer = new FileWriter(HEAVY_HITTERS_CSV)) {
+            writer.write("ArraySize,Mode,CallsPerSecond,MElementsPerSecond\n");
+
+            for (int size : sizes) {
+                int[] array = generateArray(size, "Random");
+                int iterations = Math.max(20, 20_000_000 / size);
+
+                double boyerMoore = measureCallsPerSecond(
+                    () -> BoyerMooreMajorityVote.findMajorityElement(array, NoOpTracker.INSTANCE).lastIndex, iterations);
+                writeThroughputRow(writer, size, "BoyerMoore", boyerMoore);
+                System.out.printf("  Size: %7d, BoyerMoore:     %10.1f calls/s%n", size, boyerMoore);
+
+                for (int k : ks) {
+                    double misraGries = measureCallsPerSecond(
+                        () -> MisraGriesHeavyHitters.findHeavyHitters(array, k, NoOpTracker.INSTANCE).heavyHitters.size(),
+                        iterations);
+                    writeThroughputRow(writer, size, "MisraGries-k" + k, misraGries);
+                    System.out.printf("  Size: %7d, MisraGries k=%-3d %10.1f calls/s (%.2fx of k=2 Boyer-Moore)%n",
+                        size, k, misraGries, misraGries / boyerMoore);
+                }
+            }
+        }
+
+        System.out.println("  ✓ Heavy hitters benchmark completed");
+    }
+
+    private static void runSlidingWindowBenchmark() throws IOException {
+        System.out.println("Running Sliding Window Benchmark...");
+
+        int[] windowSizes = {100, 1000, 10000};
+        int events = 2_000_000;
+        int[] stream = generateRandomArrayWithMajority(events, new Random(42));
+
+        try (FileWriter writer = new FileWriter(SLIDING_WINDOW_CSV)) {
+            writer.write("WindowSize,Mode,Events,NsPerEvent\n");
+
+            for (int windowSize : windowSizes) {
+                // Warm up both paths before timing.
+                runSlidingWindow(stream, windowSize, events);
+                runRecomputedWindow(stream, windowSize, Math.min(events, 20_000_000 / windowSize));
+
+                long startTime = System.nanoTime();
+                blackhole = runSlidingWindow(stream, windowSize, events);
+                double slidingNs = (System.nanoTime() - startTime) / (double) events;
+
+                int recomputedEvents = Math.min(events, 200_000_000 / windowSize);
+                startTime = System.nanoTime();
+                blackhole = runRecomputedWindow(stream, windowSize, recomputedEvents);
+                double recomputedNs = (System.nanoTime() - startTime) / (double) recomputedEvents;
+
+                writer.write(String.format(Locale.ROOT, "%d,SlidingWindow,%d,%.2f\n", windowSize, events, slidingNs));
+                writer.write(String.format(Locale.ROOT, "%d,Recompute,%d,%.2f\n", windowSize, recomputedEvents, recomputedNs));
+
+                System.out.printf("  Window: %6d, Sliding: %8.2f ns/event, Recompute: %10.2f ns/event (%.0fx)%n",
+                    windowSize, slidingNs, recomputedNs, recomputedNs / slidingNs);
+            }
+        }
+
+        System.out.println("  ✓ Sliding window benchmark completed");
+    }
+
+    private static int runSlidingWindow(int[] stream, int windowSize, int events) {
+        SlidingWindowMajority window = new SlidingWindowMajority(windowSize);
+        int found = 0;
+        for (int i = 0; i < events; i++) {
+            window.push(stream[i]);
+            if (window.hasMajority()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static int runRecomputedWindow(int[] stream, int windowSize, int events) {
+        int found = 0;
+        for (int i = 0; i < events; i++) {
+            int from = Math.max(0, i + 1 - windowSize);
+            int[] copy = Arrays.copyOfRange(stream, from, i + 1);
+            if (BoyerMooreMajorityVote.findMajorityElementUntracked(copy).firstIndex != -1) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static void runRangeQueryBenchmark() throws IOException {
+        System.out.println("Running Range Majority Query Benchmark...");
+
+        int[] sizes = {10000, 100000, 1000000};
+        int queries = 100_000;
+
+        try (FileWriter writer = new FileWriter(RANGE_QUERY_CSV)) {
+            writer.write("ArraySize,BuildTimeMs,FootprintMB,IndexQueryNs,SliceQueryNs,UpdateNs\n");
+
+            for (int size : sizes) {
+                int[] array = generateRandomArrayWithMajority(size, new Random(42));
+                RangeMajorityIndex index = new RangeMajorityIndex(array);
+                PerformanceTracker build = index.getBuildMetrics();
+
+                Random random = new Random(7);
+                int[] from = new int[queries];
+                int[] to = new int[queries];
+                for (int q = 0; q < queries; q++) {
+                    from[q] = random.nextInt(size);
+                    to[q] = from[q] + random.nextInt(size - from[q]);
+                }
+
+                long indexTimeNs = 0;
+                int sink = 0;
+                for (int q = 0; q < queries; q++) {
+                    BoyerMooreMajorityVote.Result result = index.query(from[q], to[q]);
+                    indexTimeNs += result.metrics.getExecutionTime();
+                    sink ^= result.lastIndex;
+                }
+
+                int sliceQueries = Math.max(100, queries / (size / 1000));
+                long startTime = System.nanoTime();
+                for (int q = 0; q < sliceQueries; q++) {
+                    int[] slice = Arrays.copyOfRange(array, from[q], to[q] + 1);
+                    sink ^= BoyerMooreMajorityVote.findMajorityElementUntracked(slice).lastIndex;
+                }
+                double sliceNs = (System.nanoTime() - startTime) / (double) sliceQueries;
+
+                startTime = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    index.set(from[q], random.nextInt(100));
+                }
+                double updateNs = (System.nanoTime() - startTime) / (double) queries;
+                blackhole = sink;
+
+                double indexNs = indexTimeNs / (double) queries;
+                double footprintMb = index.getMemoryFootprintBytes() / (1024.0 * 1024.0);
+                writer.write(String.format(Locale.ROOT, "%d,%.3f,%.2f,%.1f,%.1f,%.1f\n",
+                    size, build.getExecutionTimeMs(), footprintMb, indexNs, sliceNs, updateNs));
+
+                System.out.printf("  Size: %7d, Build: %8.3f ms, Footprint: %6.2f MB, Query: %8.1f ns "
+                        + "(slice+scan %10.1f ns), Update: %8.1f ns%n",
+                    size, build.getExecutionTimeMs(), footprintMb, indexNs, sliceNs, updateNs);
+            }
+        }
+
+        System.out.println("  ✓ Range majority query benchmark completed");
+    }
+
+    private static void runHistogramCrossover() throws IOException {
+        System.out.println("Running Histogram vs Boyer-Moore Crossover Benchmark...");
+
+        int[] sizes = {1000, 10000, 100000, 1000000};
+        int[] domains = {10, 100, 1000, 10000, 100000};
+
+        try (FileWriter writer = new FileWriter(HISTOGRAM_CSV)) {
+            writer.write("ArraySize,DomainSize,BoyerMooreCallsPerSecond,HistogramCallsPerSecond,AutoCallsPerSecond\n");
+
+            for (int size : sizes) {
+                for (int domain : domains) {
+                    Random random = new Random(42);
+                    int[] array = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        array[i] = random.nextInt(10) < 6 ? 7 : random.nextInt(domain);
+                    }
+                    int iterations = Math.max(20, 20_000_000 / size);
+
+                    double boyerMoore = measureCallsPerSecond(
+                        () -> BoyerMooreMajorityVote.findMajorityElement(array, NoOpTracker.INSTANCE).lastIndex,
+                        iterations);
+                    double histogram = measureCallsPerSecond(
+                        () -> HistogramMajorityVote.findMajorityElement(array, 0, domain - 1, NoOpTracker.INSTANCE).lastIndex,
+                        iterations);
+                    double auto = measureCallsPerSecond(
+                        () -> BoyerMooreMajorityVote.findMajorityElementAuto(array, NoOpTracker.INSTANCE).lastIndex,
+                        iterations);
+
+                    writer.write(String.format(Locale.ROOT, "%d,%d,%.1f,%.1f,%.1f\n", size, domain, boyerMoore, histogram, auto));
+                    System.out.printf("  Size: %7d, Domain: %6d, BoyerMoore: %10.1f, Histogram: %10.1f, Auto: %10.1f calls/s%n",
+                        size, domain, boyerMoore, histogram, auto);
+                }
+            }
+        }
+
+        System.out.println("  ✓ Histogram crossover benchmark completed");
+    }
+
+    private static void runBatchAllocationBenchmark() throws IOException {
+        System.out.println("Running Batch Allocation Benchmark...");
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int items = 1_000_000;
+        int itemLength = 16;
+        Random random = new Random(42);
+
+        int[][] arrays = new int[items][];
+        int[] values = new int[items * itemLength];
+        int[] offsets = new int[items];
+        int[] lengths = new int[items];
+        for (int i = 0; i < items; i++) {
+            arrays[i] = generateRandomArrayWithMajority(itemLength, random);
+            System.arraycopy(arrays[i], 0, values, i * itemLength, itemLength);
+            offsets[i] = i * itemLength;
+            lengths[i] = itemLength;
+        }
+        int[] majority = new int[items];
+        int[] firstIndex = new int[items];
+        int[] lastIndex = new int[items];
+        PerformanceTracker aggregate = new PerformanceTracker();
+
+        try (FileWriter writer = new FileWriter(BATCH_CSV)) {
+            writer.write("Mode,Items,NsPerItem,BytesPerItem\n");
+
+            for (int round = 0; round < 3; round++) {
+                long threadId = Thread.currentThread().getId();
+
+                long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+                long startTime = System.nanoTime();
+                int sink = 0;
+                for (int i = 0; i < items; i++) {
+                    sink ^= BoyerMooreMajorityVote.findMajorityElement(arrays[i]).lastIndex;
+                }
+                long perCallNs = System.nanoTime() - startTime;
+                long perCallBytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+                blackhole = sink;
+
+                aggregate.reset();
+                bytesBefore = threads.getThreadAllocatedBytes(threadId);
+                MajorityBatch.findMajorityElements(arrays, majority, firstIndex, lastIndex, aggregate);
+                long arraysBytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+                long arraysNs = aggregate.getExecutionTime();
+
+                bytesBefore = threads.getThreadAllocatedBytes(threadId);
+                startTime = System.nanoTime();
+                MajorityBatch.findMajorityElements(values, offsets, lengths, majority, firstIndex, lastIndex);
+                long flatNs = System.nanoTime() - startTime;
+                long flatBytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+                writeBatchRow(writer, "PerCall", items, perCallNs, perCallBytes);
+                writeBatchRow(writer, "BatchArrays", items, arraysNs, arraysBytes);
+                writeBatchRow(writer, "BatchFlat", items, flatNs, flatBytes);
+
+                System.out.printf("  Round %d: PerCall %6.1f ns/item %7.2f B/item | BatchArrays %6.1f ns/item %7.4f B/item"
+                        + " | BatchFlat %6.1f ns/item %7.4f B/item%n",
+                    round + 1,
+                    perCallNs / (double) items, perCallBytes / (double) items,
+                    arraysNs / (double) items, arraysBytes / (double) items,
+                    flatNs / (double) items, flatBytes / (double) items);
+            }
+            System.out.println("  Aggregate tracker (last batch): " + aggregate);
+        }
+
+        System.out.println("  ✓ Batch allocation benchmark completed");
+    }
+
+    private static void writeBatchRow(FileWriter writer, String mode, int items, long nanos, long bytes)
+            throws IOException {
+        writer.write(String.format(Locale.ROOT, "%s,%d,%.2f,%.4f\n", mode, items, nanos / (double) items, bytes / (double) items));
+    }
+
+    private static void runJobExecutorBenchmark() throws IOException {
+        System.out.println("Running Job Executor Benchmark...");
+
+        int jobs = 200_000;
+        int[][] arrays = new int[1024][];
+        Random random = new Random(42);
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = generateRandomArrayWithMajority(1000, random);
+        }
+
+        List<MajorityJobExecutor.ThreadMode> modes = new ArrayList<>();
+        modes.add(MajorityJobExecutor.ThreadMode.PLATFORM);
+        if (MajorityJobExecutor.virtualThreadsAvailable()) {
+            modes.add(MajorityJobExecutor.ThreadMode.VIRTUAL);
+        } else {
+            System.out.println("  Virtual threads unavailable on Java " + System.getProperty("java.version")
+                + "; run on Java 21+ to compare");
+        }
+
+        try (FileWriter writer = new FileWriter(EXECUTOR_CSV)) {
+            writer.write("Mode,MaxInFlight,Jobs,JobsPerSecond,P50LatencyMs,P99LatencyMs\n");
+
+            for (int maxInFlight : new int[]{16, 256, 4096}) {
+                for (MajorityJobExecutor.ThreadMode mode : modes) {
+                    MajorityJobExecutor.Stats stats;
+                    try (MajorityJobExecutor executor = new MajorityJobExecutor(mode, maxInFlight)) {
+                        AtomicInteger maxQueueDepth = new AtomicInteger();
+                        executor.runUnordered(IntStream.range(0, jobs).mapToObj(i -> arrays[i & (arrays.length - 1)]),
+                            result -> maxQueueDepth.accumulateAndGet(executor.getQueueDepth(), Math::max));
+                        stats = executor.snapshot();
+                        System.out.printf("  %-8s maxInFlight=%5d: %s (peak queue depth %d)%n",
+                            mode, maxInFlight, stats, maxQueueDepth.get());
+                    }
+                    writer.write(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f\n", mode, maxInFlight,
+                        stats.completedJobs, stats.jobsPerSecond, stats.p50LatencyMs, stats.p99LatencyMs));
+                }
+            }
+        }
+
+        System.out.println("  ✓ Job executor benchmark completed");
+    }
+
+    private static void runStripedAccumulatorBenchmark() throws IOException, InterruptedException {
+        System.out.println("Running Striped Accumulator Benchmark...");
+
+        int votesPerProducer = 4_000_000;
+        int batchSize = 256;
+        int[] votes = generateRandomArrayWithMajority(1 << 16, new Random(42));
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        try (FileWriter writer = new FileWriter(STRIPED_CSV)) {
+            writer.write("Producers,Mode,VotesPerSecond\n");
+
+            for (int producers = 1; producers <= cores; producers *= 2) {
+                StripedMajorityAccumulator striped = new StripedMajorityAccumulator();
+                double perVote = runProducers(producers, votesPerProducer, offset -> striped.accept(votes[offset]));
+                double batched = runProducers(producers, votesPerProducer / batchSize,
+                    offset -> striped.accept(votes, offset & (votes.length - batchSize), batchSize)) * batchSize;
+
+                MajorityAccumulator shared = new MajorityAccumulator();
+                double locked = runProducers(producers, votesPerProducer, offset -> {
+                    synchronized (shared) {
+                        shared.accept(votes[offset]);
+                    }
+                });
+
+                System.out.printf("  producers=%2d: striped %.1f M/s, striped batch %.1f M/s, synchronized %.1f M/s%n",
+                    producers, perVote / 1e6, batched / 1e6, locked / 1e6);
+                writer.write(String.format(Locale.ROOT, "%d,StripedPerVote,%.0f\n", producers, perVote));
+                writer.write(String.format(Locale.ROOT, "%d,StripedBatch,%.0f\n", producers, batched));
+                writer.write(String.format(Locale.ROOT, "%d,Synchronized,%.0f\n", producers, locked));
+            }
+        }
+
+        System.out.println("  ✓ Striped accumulator benchmark completed");
+    }
+
+    // Starts producers together and returns operations per second across all of them.
+    private static double runProducers(int producers, int operationsPerProducer, IntConsumer operation)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int seed = p * 7919;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < operationsPerProducer; i++) {
+                    operation.accept((i + seed) & 0xFFFF);
+                }
+            });
+            threads[p].start();
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        return (double) producers * operationsPerProducer / seconds;
+    }
+
+    private static void runMetricsOverheadBenchmark() throws IOException, InterruptedException {
+        System.out.println("Running Metrics Overhead Benchmark...");
+
+        MetricsRegistry registry = MetricsRegistry.GLOBAL;
+        boolean wasEnabled = registry.isEnabled();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        try (FileWriter writer = new FileWriter(METRICS_CSV)) {
+            writer.write("Scenario,Parameter,NsPerCall\n");
+
+            // End to end: the untracked engine with the global registry off and on.
+            for (int size : new int[]{16, 1000, 100000}) {
+                int[] array = generateRandomArrayWithMajority(size, new Random(42));
+                int iterations = Math.max(1000, 100_000_000 / size);
+
+                registry.setEnabled(false);
+                double disabled = 1e9 / measureCallsPerSecond(
+                    () -> BoyerMooreMajorityVote.findMajorityElementUntracked(array).lastIndex, iterations);
+                registry.setEnabled(true);
+                double enabled = 1e9 / measureCallsPerSecond(
+                    () -> BoyerMooreMajorityVote.findMajorityElementUntracked(array).lastIndex, iterations);
+
+                System.out.printf("  Size: %6d, disabled %10.1f ns, enabled %10.1f ns, overhead %5.1f ns%n",
+                    size, disabled, enabled, enabled - disabled);
+                writer.write(String.format(Locale.ROOT, "CallDisabled,%d,%.2f\n", size, disabled));
+                writer.write(String.format(Locale.ROOT, "CallEnabled,%d,%.2f\n", size, enabled));
+            }
+
+            // recordCall alone, with every producer hitting the same registry.
+            for (int producers = 1; producers <= cores; producers *= 2) {
+                MetricsRegistry shared = new MetricsRegistry();
+                double callsPerSecond = runProducers(producers, 20_000_000,
+                    offset -> shared.recordCall(1000, (offset & 1) == 0, offset));
+                double nsPerCall = producers * 1e9 / callsPerSecond;
+                System.out.printf("  recordCall, producers=%2d: %5.1f ns per call per thread%n", producers, nsPerCall);
+                writer.write(String.format(Locale.ROOT, "RecordCall,%d,%.2f\n", producers, nsPerCall));
+            }
+        } finally {
+            registry.setEnabled(wasEnabled);
+            registry.reset();
+        }
+
+        System.out.println("  ✓ Metrics overhead benchmark completed");
+    }
+
+    private static void runGroupByBenchmark(int rows) throws IOException {
+        System.out.println("Running Group-By Benchmark (" + rows + " rows)...");
+
+        try (FileWriter writer = new FileWriter(GROUP_BY_CSV)) {
+            writer.write("Rows,Cardinality,Groups,Mode,MRowsPerSecond\n");
+
+            for (int cardinality : new int[]{10, 100, 1000, 10_000, 100_000, 1_000_000, 10_000_000}) {
+                Random random = new Random(42);
+                int[] keys = new int[rows];
+                int[] values = new int[rows];
+                for (int row = 0; row < rows; row++) {
+                    int key = random.nextInt(cardinality);
+                    keys[row] = key;
+                    values[row] = random.nextInt(10) < 6 ? key & 7 : random.nextInt(16);
+                }
+                int iterations = Math.max(2, 50_000_000 / rows);
+                int groups = GroupedMajorityVote.findMajorityByKey(keys, values).size();
+
+                double grouped = measureCallsPerSecond(
+                    () -> GroupedMajorityVote.findMajorityByKey(keys, values).size(), iterations);
+                double parallel = measureCallsPerSecond(
+                    () -> GroupedMajorityVote.findMajorityByKeyParallel(keys, values).size(), iterations);
+                double split = measureCallsPerSecond(
+                    () -> GroupedMajorityVote.findMajorityByKeySplit(keys, values).size(), iterations);
+
+                System.out.printf("  Cardinality: %8d (%8d groups), grouped %7.1f, parallel %7.1f, split+copy %7.1f M rows/s%n",
+                    cardinality, groups, grouped * rows / 1e6, parallel * rows / 1e6, split * rows / 1e6);
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,Grouped,%.1f\n", rows, cardinality, groups, grouped * rows / 1e6));
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,GroupedParallel,%.1f\n", rows, cardinality, groups, parallel * rows / 1e6));
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,SplitCopy,%.1f\n", rows, cardinality, groups, split * rows / 1e6));
+            }
+        }
+
+        System.out.println("  ✓ Group-by benchmark completed");
+    }
+
+    private static void runCandidateKernelBenchmark() throws IOException {
+        System.out.println("Running Candidate Kernel Benchmark...");
+
+        String[] distributions = {"Random", "Sorted", "ReverseSorted", "NearlySorted"};
+        int[] sizes = {10000, 100000, 1000000};
+
+        try (FileWriter writer = new FileWriter(CANDIDATE_CSV)) {
+            writer.write("ArraySize,Distribution,Kernel,MElementsPerSecond\n");
+
+            for (int size : sizes) {
+                int iterations = Math.max(50, 50_000_000 / size);
+                for (String distribution : distributions) {
+                    int[] array = generateArray(size, distribution);
+                    StringBuilder line = new StringBuilder(String.format("  Size: %7d, %-13s", size, distribution));
+
+                    for (BoyerMooreMajorityVote.CandidateKernel kernel : BoyerMooreMajorityVote.CandidateKernel.values()) {
+                        double callsPerSecond = measureCallsPerSecond(
+                            () -> BoyerMooreMajorityVote.findCandidate(array, kernel), iterations);
+                        double elementsPerSecond = callsPerSecond * size / 1_000_000.0;
+                        writer.write(String.format(Locale.ROOT, "%d,%s,%s,%.1f\n", size, distribution, kernel, elementsPerSecond));
+                        line.append(String.format(" %s: %7.1f M/s", kernel, elementsPerSecond));
+                    }
+                    System.out.println(line);
+                }
+            }
+        }
+
+        System.out.println("  ✓ Candidate kernel benchmark completed");
+    }
+
+    private static void runSortedInputBenchmark() throws IOException {
+        System.out.println("Running Sorted Input Benchmark...");
+
+        int[] sizes = {1000, 100000, 10000000};
+
+        try (FileWriter writer = new FileWriter(SORTED_CSV)) {
+            writer.write("ArraySize,Mode,CallsPerSecond,MElementsPerSecond\n");
+
+            for (int size : sizes) {
+                // Ascending input whose upper 60% is one value; wide values keep the histogram engine out.
+                int[] array = new int[size];
+                int runStart = size * 2 / 5;
+                for (int i = 0; i < size; i++) {
+                    array[i] = i < runStart ? i * 1000 : Integer.MAX_VALUE;
+                }
+                int iterations = Math.max(20, 20_000_000 / size);
+
+                double linear = measureCallsPerSecond(
+                    () -> BoyerMooreMajorityVote.findMajorityElement(array, NoOpTracker.INSTANCE).lastIndex, iterations);
+                double declared = measureCallsPerSecond(() -> BoyerMooreMajorityVote.findMajorityElement(
+                    array, BoyerMooreMajorityVote.InputOrder.ASCENDING, NoOpTracker.INSTANCE).lastIndex, iterations);
+                double detected = measureCallsPerSecond(() -> BoyerMooreMajorityVote.findMajorityElement(
+                    array, BoyerMooreMajorityVote.detectOrder(array), NoOpTracker.INSTANCE).lastIndex, iterations);
+
+                writeThroughputRow(writer, size, "Linear", linear);
+                writeThroughputRow(writer, size, "DeclaredSorted", declared);
+                writeThroughputRow(writer, size, "DetectedSorted", detected);
+
+                PerformanceTracker linearCounts = BoyerMooreMajorityVote.findMajorityElement(array).metrics;
+                PerformanceTracker sortedCounts = BoyerMooreMajorityVote.findMajoritySorted(array).metrics;
+                System.out.printf("  Size: %8d, Linear: %12.1f calls/s (%d accesses), Declared: %12.1f calls/s (%d accesses), "
+                        + "Detect+sorted: %12.1f calls/s%n",
+                    size, linear, linearCounts.getArrayAccessCount(), declared, sortedCounts.getArrayAccessCount(), detected);
+            }
+        }
+
+        System.out.println("  ✓ Sorted input benchmark completed");
+    }
+
+    private static void runRunLengthBenchmark() throws IOException {
+        System.out.println("Running Run-Length Encoded Input Benchmark...");
+
+        int size = 10_000_000;
+        int[] meanRunLengths = {1, 4, 16, 64, 1024};
+
+        try (FileWriter writer = new FileWriter(RLE_CSV)) {
+            writer.write("ArraySize,MeanRunLength,Runs,Mode,CallsPerSecond\n");
+
+            for (int meanRunLength : meanRunLengths) {
+                // Geometric run lengths; about 55% of runs carry the majority value.
+                Random random = new Random(42);
+                int[] array = new int[size];
+                for (int i = 0; i < size; ) {
+                    int value = random.nextInt(100) < 55 ? 1_000_000_007 : random.nextInt();
+                    int length = 1 + (int) (-Math.log(1 - random.nextDouble()) * (meanRunLength - 1));
+                    int end = Math.min(size, i + length);
+                    Arrays.fill(array, i, end, value);
+                    i = end;
+                }
+                RunLengthMajorityVote.Encoded encoded = RunLengthMajorityVote.encode(array);
+                int iterations = Math.max(5, 20_000_000 / Math.max(encoded.runCount(), size / 10));
+
+                double direct = measureCallsPerSecond(() -> RunLengthMajorityVote.findMajorityElement(
+                    encoded, NoOpTracker.INSTANCE).lastIndex, iterations);
+                double decoded = measureCallsPerSecond(() -> BoyerMooreMajorityVote.findMajorityElementUntracked(
+                    RunLengthMajorityVote.decode(encoded)).lastIndex, iterations);
+
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,RunLength,%.1f\n", size, meanRunLength, encoded.runCount(), direct));
+                writer.write(String.format(Locale.ROOT, "%d,%d,%d,DecodeThenScan,%.1f\n", size, meanRunLength, encoded.runCount(), decoded));
+                System.out.printf("  Mean run %4d (%8d runs): RLE %10.1f calls/s, decode+scan %8.1f calls/s (%.1fx)%n",
+                    meanRunLength, encoded.runCount(), direct, decoded, direct / decoded);
+            }
+        }
+
+        System.out.println("  ✓ Run-length benchmark completed");
+    }
+
+    private static void runBufferInputBenchmark() throws IOException {
+        System.out.println("Running Buffer Input Benchmark...");
+
+        int[] sizes = {10000, 1000000, 10000000};
+        ByteOrder foreign = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+
+        try (FileWriter writer = new FileWriter(BUFFER_CSV)) {
+            writer.write("ArraySize,Mode,CallsPerSecond,MElementsPerSecond\n");
+
+            for (int size : sizes) {
+                int[] array = generateRandomArrayWithMajority(size, new Random(42));
+                IntBuffer heapInts = IntBuffer.wrap(array);
+                ByteBuffer heapBytes = ByteBuffer.allocate(size * Integer.BYTES).order(ByteOrder.nativeOrder());
+                ByteBuffer directNative = ByteBuffer.allocateDirect(size * Integer.BYTES).order(ByteOrder.nativeOrder());
+                ByteBuffer directForeign = ByteBuffer.allocateDirect(size * Integer.BYTES).order(foreign);
+                heapBytes.asIntBuffer().put(array);
+                directNative.asIntBuffer().put(array);
+                directForeign.asIntBuffer().put(array);
+                int iterations = Math.max(20, 50_000_000 / size);
+
+                double slice = measureCallsPerSecond(() -> BoyerMooreMajorityVote.findMajorityElement(
+                    array, 0, size, NoOpTracker.INSTANCE).lastIndex, iterations);
+                double intBuffer = measureCallsPerSecond(() -> BoyerMooreMajorityVote.findMajorityElementInBuffer(
+                    heapInts, NoOpTracker.INSTANCE).lastIndex, iterations);
+                double heapBuffer = measureCallsPerSecond(() -> BoyerMooreMajorityVote.findMajorityElementInBuffer(
+                    heapBytes, ByteOrder.nativeOrder(), NoOpTracker.INSTANCE).lastIndex, iterations);
+                double direct = measureCallsPerSecond(() -> BoyerMooreMajorityVote.findMajorityElementInBuffer(
+                    directNative, ByteOrder.nativeOrder(), NoOpTracker.INSTANCE).lastIndex, iterations);
+                double directSwapped = measureCallsPerSecond(() -> BoyerMooreMajorityVote.findMajorityElementInBuffer(
+                    directForeign, foreign, NoOpTracker.INSTANCE).lastIndex, iterations);
+
+                writeThroughputRow(writer, size, "HeapArray", slice);
+                writeThroughputRow(writer, size, "HeapIntBuffer", intBuffer);
+                writeThroughputRow(writer, size, "HeapByteBuffer", heapBuffer);
+                writeThroughputRow(writer, size, "DirectByteBuffer", direct);
+                writeThroughputRow(writer, size, "DirectByteBufferSwapped", directSwapped);
+
+                System.out.printf("  Size: %8d, M elements/s: array %.1f, IntBuffer %.1f, heap bytes %.1f, "
+                        + "direct %.1f, direct swapped %.1f%n", size,
+                    slice * size / 1e6, intBuffer * size / 1e6, heapBuffer * size / 1e6,
+                    direct * size / 1e6, directSwapped * size / 1e6);
+            }
+        }
+
+        System.out.println("  ✓ Buffer input benchmark completed");
+    }
+
+    // Without a source, generates a temporary file of 20M newline-separated values first; "-" reads stdin.
+    private static void runTextIngestion(String source) throws IOException {
+        System.out.println("Running Text Ingestion...");
+
+        if (source == null) {
+            Path file = Files.createTempFile("votes", ".txt");
+            try {
+                Random random = new Random(42);
+                try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                    for (int i = 0; i < 20_000_000; i++) {
+                        writer.write(Integer.toString(random.nextInt(100) < 55 ? 42 : random.nextInt() >> random.nextInt(32)));
+                        writer.write('\n');
+                    }
+                }
+                ingestText(file.toString());
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } else {
+            ingestText(source);
+        }
+
+        System.out.println("  ✓ Text ingestion completed");
+    }
+
+    private static void ingestText(String source) throws IOException {
+        boolean stdin = source.equals("-");
+        int[] batch = new int[8192];
+
+        // Pass 1: parse and feed the incremental candidate pass, timing the two separately.
+        MajorityAccumulator accumulator = new MajorityAccumulator();
+        long parseNanos = 0;
+        long candidateNanos = 0;
+        long bytes;
+        try (TextIntReader reader = new TextIntReader(stdin ? Channels.newChannel(System.in)
+                : FileChannel.open(Path.of(source), StandardOpenOption.READ))) {
+            while (true) {
+                long start = System.nanoTime();
+                int count = reader.read(batch);
+                long parsed = System.nanoTime();
+                parseNanos += parsed - start;
+                if (count < 0) {
+                    break;
+                }
+                accumulator.accept(batch, 0, count);
+                candidateNanos += System.nanoTime() - parsed;
+            }
+            bytes = reader.getBytesRead();
+        }
+
+        long values = accumulator.getElementCount();
+        System.out.printf("  Pass 1: %d values, %.1f MB parsed at %.1f MB/s; candidate pass %.1f ms (%.1f M values/s)%n",
+            values, bytes / 1e6, bytes / 1e6 / (parseNanos / 1e9), candidateNanos / 1e6,
+            values / 1e6 / Math.max(candidateNanos / 1e9, 1e-9));
+
+        String verdict;
+        long verifyParseNanos = 0;
+        long verifyNanos = 0;
+        if (!accumulator.hasCandidate()) {
+            verdict = "no majority (empty input)";
+        } else if (stdin) {
+            verdict = "candidate " + accumulator.getCandidate() + " (unverified: stdin cannot be read twice)";
+        } else {
+            // Pass 2: re-read the file to count the candidate and locate its first and last position.
+            MajorityAccumulator.Verification verification = accumulator.newVerification();
+            try (TextIntReader reader = new TextIntReader(FileChannel.open(Path.of(source), StandardOpenOption.READ))) {
+                while (true) {
+                    long start = System.nanoTime();
+                    int count = reader.read(batch);
+                    long parsed = System.nanoTime();
+                    verifyParseNanos += parsed - start;
+                    if (count < 0) {
+                        break;
+                    }
+                    verification.accept(batch, 0, count);
+                    verifyNanos += System.nanoTime() - parsed;
+                }
+            }
+            BoyerMooreMajorityVote.Result result = verification.finish();
+            System.out.printf("  Pass 2: parsed at %.1f MB/s; verification %.1f ms%n",
+                bytes / 1e6 / (verifyParseNanos / 1e9), verifyNanos / 1e6);
+            int candidate = accumulator.getCandidate();
+            verdict = result.firstIndex >= 0
+                ? String.format("majority %d (count %d, first %d, last %d)", candidate,
+                    verification.getOccurrences(), result.firstIndex, result.lastIndex)
+                : "no majority (candidate " + candidate + " occurs " + verification.getOccurrences() + " times)";
+        }
+        System.out.println("  Result: " + verdict);
+
+        try (FileWriter writer = new FileWriter(TEXT_CSV)) {
+            writer.write("Source,Bytes,Values,ParseMBPerSecond,CandidatePassMs,VerifyParseMBPerSecond,VerifyMs\n");
+            writer.write(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.1f,%.3f\n", stdin ? "stdin" : "file", bytes, values,
+                bytes / 1e6 / (parseNanos / 1e9), candidateNanos / 1e6,
+                verifyParseNanos == 0 ? 0 : bytes / 1e6 / (verifyParseNanos / 1e9), verifyNanos / 1e6));
+        }
+    }
+
+    private static void runMappedFileBenchmark(int sizeMb) throws IOException {
+        System.out.println("Running Memory-Mapped File Benchmark...");
+
+        Path file = Files.createTempFile("majority-", ".bin");
+        try {
+            long elements = sizeMb * 1024L * 1024L / Integer.BYTES;
+            writeIntFile(file, elements, new Random(42));
+            System.out.printf("  Generated %s (%d MB, %d ints)%n", file, sizeMb, elements);
+
+            // Timed runs are untracked, so the per-element counters do not dilute the scan rate.
+            for (int run = 1; run <= 3; run++) {
+                long heapBefore = getUsedMemory();
+                long start = System.nanoTime();
+                BoyerMooreMajorityVote.Result result = MappedFileMajorityVote.findMajorityElement(file, NoOpTracker.INSTANCE);
+                long nanos = System.nanoTime() - start;
+                long heapAfter = getUsedMemory();
+
+                System.out.printf("  Run %d: majority=%d first=%d last=%d, %.1f ms, %.1f MB/s, heap delta %.2f MB%n",
+                    run, result.majorityElement, result.firstIndex, result.lastIndex,
+                    nanos / 1e6, sizeMb / (nanos / 1e9), (heapAfter - heapBefore) / (1024.0 * 1024.0));
+            }
+
+            PerformanceTracker counts = new PerformanceTracker();
+            MappedFileMajorityVote.findMajorityElement(file, counts);
+            System.out.printf("  Tracked run: %d comparisons, %d array accesses, %d assignments (%.1f ms with counters)%n",
+                counts.getComparisonCount(), counts.getArrayAccessCount(), counts.getAssignmentCount(),
+                counts.getExecutionTimeMs());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        System.out.println("  ✓ Memory-mapped file benchmark completed");
+    }
+
+    // Streams little-endian ints to disk in fixed chunks; roughly 60% of values are the majority 7.
+    private static void writeIntFile(Path file, long elements, Random random) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long written = 0; written < elements; written++) {
+                chunk.putInt(random.nextInt(10) < 6 ? 7 : random.nextInt(100));
+                if (!chunk.hasRemaining()) {
+                    chunk.flip();
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                    chunk.clear();
+                }
+            }
+            chunk.flip();
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+    }
+
+    // Resets recorder, then records the tracked execution time of LATENCY_ITERATIONS calls after
+    // LATENCY_WARMUP untimed ones. Returns the last result for its operation counts.
+    private static BoyerMooreMajorityVote.Result recordLatencies(int[] array, LatencyRecorder recorder) {
+        BoyerMooreMajorityVote.Result result = null;
+        for (int i = 0; i < LATENCY_WARMUP; i++) {
+            result = BoyerMooreMajorityVote.findMajorityElement(array);
+        }
+
+        recorder.reset();
+        for (int i = 0; i < LATENCY_ITERATIONS; i++) {
+            result = BoyerMooreMajorityVote.findMajorityElement(array);
+            recorder.record(result.metrics.getExecutionTime());
+        }
+        return result;
+    }
+
+    private static double measureCallsPerSecond(IntSupplier call, int iterations) {
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink ^= call.getAsInt();
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink ^= call.getAsInt();
+        }
+        long endTime = System.nanoTime();
+
+        blackhole = sink;
+        return iterations / ((endTime - startTime) / 1_000_000_000.0);
+    }
+
+    private static void writeThroughputRow(FileWriter writer, int size, String mode, double callsPerSecond)
+            throws IOException {
+        writer.write(String.format(Locale.ROOT, "%d,%s,%.1f,%.3f\n",
+            size, mode, callsPerSecond, callsPerSecond * size / 1_000_000.0));
+    }
+
+    // Seeded, so the same (size, distribution) always yields the same array; JMH times one copy and
+    // JmhBenchmarkRunner counts operations on another.
+    public static int[] generateArray(int size, String distribution) {
+        Random random = new Random(42);
         int[] array = new int[size];
 
         switch (distribution) {
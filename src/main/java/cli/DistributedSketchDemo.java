@@ -0,0 +1,221 @@
+package cli;
+
+import algorithms.BoyerMooreMajorityVote;
+import algorithms.MajoritySketch;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Coordinator forks one JVM per shard file; workers ship MajoritySketch bytes back over stdout,
+// then a second round counts the merged candidates so the coordinator can confirm them exactly.
+public class DistributedSketchDemo {
+
+    private static final int MAJORITY_VALUE = 42;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("summarize")) {
+            runSummarizeWorker(Path.of(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("verify")) {
+            runVerifyWorker(Path.of(args[1]), args[2]);
+            return;
+        }
+
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int shardSize = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int k = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        runCoordinator(workers, shardSize, k);
+    }
+
+    private static void runCoordinator(int workers, int shardSize, int k) throws Exception {
+        System.out.println("Distributed Sketch Demo: " + workers + " worker processes, "
+            + shardSize + " elements per shard, k=" + k);
+
+        Path directory = Files.createTempDirectory("majority-shards");
+        List<Path> shards = new ArrayList<>();
+        int[] all = new int[workers * shardSize];
+        try {
+            Random random = new Random(42);
+            for (int w = 0; w < workers; w++) {
+                // Shard 0 has no local majority; the global one only appears after merging.
+                int majorityPercent = w == 0 ? 20 : 65;
+                int[] shard = new int[shardSize];
+                for (int i = 0; i < shardSize; i++) {
+                    int roll = random.nextInt(100);
+                    shard[i] = roll < majorityPercent ? MAJORITY_VALUE
+                        : roll < majorityPercent + 15 ? 1000 + random.nextInt(3)
+                        : random.nextInt(1_000_000);
+                }
+                System.arraycopy(shard, 0, all, w * shardSize, shardSize);
+                Path file = directory.resolve("shard-" + w + ".bin");
+                writeShard(file, shard);
+                shards.add(file);
+            }
+
+            // Round 1: each worker summarises its shard.
+            long start = System.nanoTime();
+            List<byte[]> replies = runWorkers(shards, "summarize", String.valueOf(k));
+            MajoritySketch merged = MajoritySketch.EMPTY;
+            long sketchBytes = 0;
+            for (int w = 0; w < workers; w++) {
+                MajoritySketch sketch = MajoritySketch.fromBytes(replies.get(w));
+                sketchBytes += replies.get(w).length;
+                System.out.println("  worker " + w + ": " + sketch);
+                merged = merged.merge(sketch);
+            }
+            System.out.printf("  merged: %s (%d sketch bytes vs %d raw bytes)%n",
+                merged, sketchBytes, (long) all.length * Integer.BYTES);
+
+            // Round 2: broadcast the majority candidate and the heavy-hitter candidates for exact counts.
+            int[] candidates = withMajorityCandidate(merged);
+            StringBuilder list = new StringBuilder();
+            for (int candidate : candidates) {
+                list.append(list.length() == 0 ? "" : ",").append(candidate);
+            }
+            List<byte[]> counts = runWorkers(shards, "verify", list.toString());
+
+            long[] totals = new long[candidates.length];
+            long[] first = new long[candidates.length];
+            long[] last = new long[candidates.length];
+            Arrays.fill(first, -1);
+            Arrays.fill(last, -1);
+            for (int w = 0; w < workers; w++) {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(counts.get(w)));
+                long base = (long) w * shardSize;
+                for (int c = 0; c < candidates.length; c++) {
+                    long shardCount = in.readLong();
+                    long shardFirst = in.readLong();
+                    long shardLast = in.readLong();
+                    totals[c] += shardCount;
+                    if (shardCount > 0) {
+                        first[c] = first[c] == -1 ? base + shardFirst : first[c];
+                        last[c] = base + shardLast;
+                    }
+                }
+            }
+            double elapsedMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            for (int c = 0; c < candidates.length; c++) {
+                boolean majority = totals[c] > merged.elementCount / 2;
+                boolean heavy = totals[c] * k > merged.elementCount;
+                System.out.printf("  candidate %d: count=%d first=%d last=%d%s%s%n", candidates[c], totals[c],
+                    first[c], last[c], majority ? " [majority]" : "", heavy ? " [heavy hitter]" : "");
+            }
+            System.out.printf("  Two rounds across %d processes took %.1f ms%n", workers, elapsedMs);
+
+            BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(all);
+            System.out.printf("  single-process check: majority=%d first=%d last=%d%n",
+                expected.majorityElement, expected.firstIndex, expected.lastIndex);
+        } finally {
+            for (Path file : shards) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private static int[] withMajorityCandidate(MajoritySketch sketch) {
+        int[] heavy = sketch.getHeavyHitterCandidates();
+        if (!sketch.hasCandidate() || Arrays.stream(heavy).anyMatch(c -> c == sketch.candidate)) {
+            return heavy;
+        }
+        int[] candidates = Arrays.copyOf(heavy, heavy.length + 1);
+        candidates[heavy.length] = sketch.candidate;
+        return candidates;
+    }
+
+    // Starts every worker before collecting any reply so the shards are processed concurrently.
+    private static List<byte[]> runWorkers(List<Path> shards, String command, String argument)
+            throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+
+        List<Process> processes = new ArrayList<>();
+        for (Path shard : shards) {
+            ProcessBuilder builder = new ProcessBuilder(java, "-cp", classPath, DistributedSketchDemo.class.getName(),
+                command, shard.toString(), argument);
+            builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+            processes.add(builder.start());
+        }
+
+        List<byte[]> replies = new ArrayList<>();
+        for (Process process : processes) {
+            byte[] reply;
+            try (InputStream in = process.getInputStream()) {
+                reply = in.readAllBytes();
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("Worker " + command + " exited with code " + exitCode);
+            }
+            replies.add(reply);
+        }
+        return replies;
+    }
+
+    private static void runSummarizeWorker(Path shard, int k) throws IOException {
+        int[] values = readShard(shard);
+        OutputStream out = System.out;
+        out.write(MajoritySketch.summarize(values, 0, values.length, k).toBytes());
+        out.flush();
+    }
+
+    // Replies with (count, first, last) per candidate, indices relative to the shard.
+    private static void runVerifyWorker(Path shard, String candidateList) throws IOException {
+        int[] values = readShard(shard);
+        int[] candidates = candidateList.isEmpty() ? new int[0]
+            : Arrays.stream(candidateList.split(",")).mapToInt(Integer::parseInt).toArray();
+
+        long[] counts = new long[candidates.length];
+        long[] first = new long[candidates.length];
+        long[] last = new long[candidates.length];
+        Arrays.fill(first, -1);
+        Arrays.fill(last, -1);
+        for (int i = 0; i < values.length; i++) {
+            for (int c = 0; c < candidates.length; c++) {
+                if (values[i] == candidates[c]) {
+                    if (counts[c]++ == 0) {
+                        first[c] = i;
+                    }
+                    last[c] = i;
+                }
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(System.out);
+        for (int c = 0; c < candidates.length; c++) {
+            out.writeLong(counts[c]);
+            out.writeLong(first[c]);
+            out.writeLong(last[c]);
+        }
+        out.flush();
+    }
+
+    // Shards use the little-endian int layout read by MappedFileMajorityVote.
+    private static void writeShard(Path file, int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(values);
+        Files.write(file, buffer.array());
+    }
+
+    private static int[] readShard(Path file) throws IOException {
+        IntBuffer ints = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        int[] values = new int[ints.remaining()];
+        ints.get(values);
+        return values;
+    }
+}
@@ -0,0 +1,170 @@
+package cli;
+
+import metrics.LatencyRecorder;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop load against MajorityServer: each client thread sends its next request as soon as the
+// previous one answers. Without a target URL an in-process server on a free loopback port is used.
+// Usage: MajorityLoadGenerator [payloadInts] [secondsPerLevel] [http://host:port]
+public class MajorityLoadGenerator {
+
+    private static final String LOAD_CSV = "server_load.csv";
+    private static final int[] CONCURRENCY_LEVELS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int PAYLOADS = 16;
+
+    public static void main(String[] args) throws Exception {
+        int payloadInts = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        MajorityServer local = null;
+        String base;
+        if (args.length > 2) {
+            base = args[2];
+        } else {
+            MajorityServer.defaultToNoDelay();
+            local = new MajorityServer(0, Runtime.getRuntime().availableProcessors(), 1024).start();
+            base = "http://127.0.0.1:" + local.getPort();
+        }
+        URL url = URI.create(base + MajorityServer.PATH).toURL();
+
+        byte[][] payloads = new byte[PAYLOADS][];
+        Random random = new Random(42);
+        for (int p = 0; p < PAYLOADS; p++) {
+            int[] values = new int[payloadInts];
+            for (int i = 0; i < payloadInts; i++) {
+                values[i] = random.nextInt(10) < 6 ? 7 : random.nextInt(1000);
+            }
+            payloads[p] = MajorityServer.encodeRequest(values);
+        }
+
+        System.out.println("Load against " + url + ", " + payloadInts + " ints per request, "
+            + seconds + " s per level");
+        try (FileWriter writer = new FileWriter(LOAD_CSV)) {
+            writer.write("Concurrency,PayloadInts,RequestsPerSecond,P50Ms,P99Ms,MaxMs,Rejected,Errors\n");
+
+            // Short unrecorded run so the first level does not measure JIT warmup.
+            runLevel(url, payloads, 4, 1);
+
+            for (int clients : CONCURRENCY_LEVELS) {
+                Level level = runLevel(url, payloads, clients, seconds);
+                LatencyRecorder latencies = level.latencies;
+                double requestsPerSecond = latencies.getCount() / level.seconds;
+
+                System.out.printf("  clients=%2d: %9.1f req/s, p50 %7.3f ms, p99 %7.3f ms, rejected %d, errors %d%n",
+                    clients, requestsPerSecond, latencies.getValueAtPercentile(50) / 1e6,
+                    latencies.getValueAtPercentile(99) / 1e6, level.rejected, level.errors);
+                writer.write(String.format(Locale.ROOT, "%d,%d,%.1f,%.6f,%.6f,%.6f,%d,%d\n",
+                    clients, payloadInts, requestsPerSecond, latencies.getValueAtPercentile(50) / 1e6,
+                    latencies.getValueAtPercentile(99) / 1e6, latencies.getMaxNanos() / 1e6,
+                    level.rejected, level.errors));
+            }
+        } finally {
+            if (local != null) {
+                System.out.println("  Server: " + local.getServedCount() + " served in " + local.getBatchCount()
+                    + " batches, " + local.getRejectedCount() + " rejected");
+                local.close();
+            }
+        }
+        System.out.println("  Results written to " + LOAD_CSV);
+    }
+
+    private static final class Level {
+        final LatencyRecorder latencies;
+        final double seconds;
+        final long rejected;
+        final long errors;
+
+        Level(LatencyRecorder latencies, double seconds, long rejected, long errors) {
+            this.latencies = latencies;
+            this.seconds = seconds;
+            this.rejected = rejected;
+            this.errors = errors;
+        }
+    }
+
+    private static Level runLevel(URL url, byte[][] payloads, int clients, int seconds) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        long[] deadline = new long[1];
+
+        for (int c = 0; c < clients; c++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            int first = c;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int request = first; System.nanoTime() < deadline[0]; request++) {
+                    long sentAt = System.nanoTime();
+                    try {
+                        int status = post(url, payloads[request % payloads.length]);
+                        if (status == 200) {
+                            recorder.record(System.nanoTime() - sentAt);
+                        } else if (status == 503) {
+                            rejected.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long startTime = System.nanoTime();
+        deadline[0] = startTime + seconds * 1_000_000_000L;
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double elapsed = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            merged.merge(recorder);
+        }
+        return new Level(merged, elapsed, rejected.get(), errors.get());
+    }
+
+    // Reads the whole reply so HttpURLConnection can reuse the kept-alive connection.
+    private static int post(URL url, byte[] payload) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(payload.length);
+        connection.setRequestProperty("Content-Type", "application/octet-stream");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(payload);
+        }
+
+        int status = connection.getResponseCode();
+        try (InputStream in = status == 200 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (in != null) {
+                in.readAllBytes();
+            }
+        }
+        return status;
+    }
+}
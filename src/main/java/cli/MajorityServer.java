@@ -0,0 +1,439 @@
+package cli;
+
+import algorithms.BoyerMooreMajorityVote;
+import algorithms.MajorityBatch;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import metrics.MetricsHttpEndpoint;
+import metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Majority vote over HTTP for non-JVM callers. POST /majority with a body of little-endian int32
+// values; the reply is three little-endian int32s: majority element, first index, last index
+// (-1, -1, -1 when there is none). Admitted work is bounded by request count and by total ints, and a
+// request is admitted before its body is read; anything over either bound answers 503 instead of
+// letting latency and heap grow without bound. /metrics serves the global MetricsRegistry.
+//
+// The JDK server writes headers and body separately, so with Nagle's algorithm on each reply waits for
+// a delayed ACK (~40 ms on Linux loopback). main sets -Dsun.net.httpserver.nodelay=true unless given;
+// embedders should pass it on the command line, since it is read once per JVM.
+public class MajorityServer implements AutoCloseable {
+
+    public static final String PATH = "/majority";
+    public static final int RESPONSE_BYTES = 3 * Integer.BYTES;
+    public static final int MAX_REQUEST_INTS = 16 << 20;
+    public static final long DEFAULT_MAX_QUEUED_INTS = 4L * MAX_REQUEST_INTS;
+
+    // A worker that picks up a request of at most this many ints also takes the small requests queued
+    // behind it, up to MAX_BATCH in all, and answers them with one MajorityBatch call. Batching only
+    // happens when requests are already queued, so an idle server adds no delay.
+    static final int SMALL_REQUEST_INTS = 4096;
+    static final int MAX_BATCH = 64;
+
+    // Request body bytes an error reply discards before and after answering; see reject().
+    static final int DRAIN_BYTES = 64 << 10;
+    static final long LINGER_BYTES = 4L << 20;
+
+    // Set while the HTTP executor runs a task it rejected, on the dispatcher thread: the handler then
+    // answers 503 without reading the body.
+    private static final ThreadLocal<Boolean> OVERLOADED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private static final class Pending {
+        final HttpExchange exchange;
+        final int[] values;
+        final long receivedAt;
+
+        Pending(HttpExchange exchange, int[] values, long receivedAt) {
+            this.exchange = exchange;
+            this.values = values;
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor ioPool;
+    private final BlockingQueue<Pending> queue;
+    private final int queueCapacity;
+    private final long maxQueuedInts;
+    // Requests and ints admitted but not yet answered, reserved before the body is read.
+    private final AtomicInteger admittedRequests = new AtomicInteger();
+    private final AtomicLong admittedInts = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    public MajorityServer(int port, int workerCount, int queueCapacity) throws IOException {
+        this(port, workerCount, queueCapacity, DEFAULT_MAX_QUEUED_INTS);
+    }
+
+    public MajorityServer(int port, int workerCount, int queueCapacity, long maxQueuedInts) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), workerCount, queueCapacity,
+            maxQueuedInts, true);
+    }
+
+    // startWorkers=false leaves the queue undrained, so tests can fill it deterministically.
+    MajorityServer(InetSocketAddress address, int workerCount, int queueCapacity, long maxQueuedInts,
+                   boolean startWorkers) throws IOException {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount must be positive: " + workerCount);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        if (maxQueuedInts < 1) {
+            throw new IllegalArgumentException("maxQueuedInts must be positive: " + maxQueuedInts);
+        }
+        this.queueCapacity = queueCapacity;
+        this.maxQueuedInts = maxQueuedInts;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.server = HttpServer.create(address, 0);
+        // Request bodies are read on this pool, so one slow upload does not stall the accept loop. Its
+        // queue holds exchanges whose bodies are unread; past that, the rejected exchange runs on the
+        // dispatcher thread only to answer 503.
+        this.ioPool = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), (task, executor) -> {
+                OVERLOADED.set(Boolean.TRUE);
+                try {
+                    task.run();
+                } finally {
+                    OVERLOADED.set(Boolean.FALSE);
+                }
+            });
+        server.setExecutor(ioPool);
+        server.createContext(PATH, this::accept);
+        server.createContext(MetricsHttpEndpoint.PATH, MetricsHttpEndpoint.handler(MetricsRegistry.GLOBAL));
+
+        if (startWorkers) {
+            for (int w = 0; w < workerCount; w++) {
+                Thread worker = new Thread(this::drain, "majority-worker-" + w);
+                worker.setDaemon(true);
+                workers.add(worker);
+            }
+        }
+    }
+
+    public MajorityServer start() {
+        server.start();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getServedCount() {
+        return served.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        // Whatever is still queued will not be computed; tell those clients to retry.
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            release(pending.values.length);
+            sendStatus(pending.exchange, 503);
+        }
+        server.stop(0);
+        ioPool.shutdownNow();
+    }
+
+    public static byte[] encodeRequest(int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(values);
+        return buffer.array();
+    }
+
+    public static BoyerMooreMajorityVote.Result decodeResponse(byte[] body) {
+        if (body.length != RESPONSE_BYTES) {
+            throw new IllegalArgumentException("Expected " + RESPONSE_BYTES + " response bytes, got " + body.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+        return new BoyerMooreMajorityVote.Result(buffer.getInt(), buffer.getInt(), buffer.getInt(), null);
+    }
+
+    private void accept(HttpExchange exchange) throws IOException {
+        long receivedAt = System.nanoTime();
+        if (OVERLOADED.get()) {
+            overloaded(exchange);
+            return;
+        }
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            reject(exchange, 405);
+            return;
+        }
+
+        long length;
+        try {
+            String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+            length = declared == null ? -1 : Long.parseLong(declared);
+        } catch (NumberFormatException e) {
+            length = -1;
+        }
+        if (length < 0) {
+            reject(exchange, 411);
+            return;
+        }
+        if (length > Math.min(MAX_REQUEST_INTS, maxQueuedInts) * Integer.BYTES) {
+            reject(exchange, 413);
+            return;
+        }
+        if (length % Integer.BYTES != 0) {
+            reject(exchange, 400);
+            return;
+        }
+
+        int ints = (int) (length / Integer.BYTES);
+        if (!running || !admit(ints)) {
+            overloaded(exchange);
+            return;
+        }
+        int[] values;
+        try {
+            values = readValues(exchange, (int) length);
+        } catch (IOException | RuntimeException e) {
+            release(ints);
+            throw e;
+        }
+        if (values == null) {
+            release(ints);
+            sendStatus(exchange, 400);
+            return;
+        }
+
+        // Admission reserved a queue slot, so offer only fails once close() has stopped the workers.
+        if (!running || !queue.offer(new Pending(exchange, values, receivedAt))) {
+            release(ints);
+            rejected.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            sendStatus(exchange, 503);
+        }
+    }
+
+    // Reserves one request and its ints against the bounds, or leaves both untouched and returns false.
+    private boolean admit(int ints) {
+        if (admittedRequests.incrementAndGet() > queueCapacity) {
+            admittedRequests.decrementAndGet();
+            return false;
+        }
+        if (admittedInts.addAndGet(ints) > maxQueuedInts) {
+            admittedInts.addAndGet(-ints);
+            admittedRequests.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void release(int ints) {
+        admittedInts.addAndGet(-ints);
+        admittedRequests.decrementAndGet();
+    }
+
+    private void overloaded(HttpExchange exchange) {
+        rejected.incrementAndGet();
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        reject(exchange, 503);
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        int[] majority = new int[MAX_BATCH];
+        int[] firstIndex = new int[MAX_BATCH];
+        int[] lastIndex = new int[MAX_BATCH];
+
+        // A large request polled while coalescing small ones; it is answered on its own next.
+        Pending carry = null;
+        while (running) {
+            if (carry != null) {
+                batch.add(carry);
+                carry = null;
+            } else {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            if (batch.get(0).values.length <= SMALL_REQUEST_INTS) {
+                Pending next;
+                while (batch.size() < MAX_BATCH && (next = queue.poll()) != null) {
+                    if (next.values.length > SMALL_REQUEST_INTS) {
+                        carry = next;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            }
+
+            int items = batch.size();
+            int[][] arrays = new int[items][];
+            for (int i = 0; i < items; i++) {
+                arrays[i] = batch.get(i).values;
+            }
+            MajorityBatch.findMajorityElements(arrays, majority, firstIndex, lastIndex);
+            batches.incrementAndGet();
+
+            for (int i = 0; i < items; i++) {
+                Pending pending = batch.get(i);
+                respond(pending, majority[i], firstIndex[i], lastIndex[i]);
+            }
+            batch.clear();
+        }
+        if (carry != null) {
+            release(carry.values.length);
+            sendStatus(carry.exchange, 503);
+        }
+    }
+
+    private void respond(Pending pending, int majority, int firstIndex, int lastIndex) {
+        ByteBuffer body = ByteBuffer.allocate(RESPONSE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        body.putInt(majority).putInt(firstIndex).putInt(lastIndex);
+        HttpExchange exchange = pending.exchange;
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, RESPONSE_BYTES);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body.array());
+            }
+        } catch (IOException e) {
+            // The client went away; nothing left to tell it.
+        } finally {
+            exchange.close();
+        }
+        served.incrementAndGet();
+        release(pending.values.length);
+
+        MetricsRegistry registry = MetricsRegistry.GLOBAL;
+        if (registry.isEnabled()) {
+            // Server-side latency: queueing plus compute.
+            registry.recordCall(pending.values.length, firstIndex >= 0, System.nanoTime() - pending.receivedAt);
+        }
+    }
+
+    // Returns null if the body ends before length bytes.
+    private static int[] readValues(HttpExchange exchange, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        try (InputStream in = exchange.getRequestBody()) {
+            int read = 0;
+            while (read < length) {
+                int n = in.read(bytes, read, length - read);
+                if (n < 0) {
+                    return null;
+                }
+                read += n;
+            }
+        }
+        int[] values = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values);
+        return values;
+    }
+
+    // For requests whose body is still unread. Closing with request bytes unread resets the connection,
+    // and the client then sees the reset instead of the status. So this first discards up to DRAIN_BYTES
+    // of the body; a longer body gets Connection: close, and up to LINGER_BYTES more are discarded while
+    // the client finishes writing.
+    private static void reject(HttpExchange exchange, int status) {
+        try (InputStream in = exchange.getRequestBody()) {
+            boolean drained = discard(in, DRAIN_BYTES);
+            if (!drained) {
+                exchange.getResponseHeaders().set("Connection", "close");
+            }
+            exchange.sendResponseHeaders(status, -1);
+            if (!drained) {
+                discard(in, LINGER_BYTES);
+            }
+        } catch (IOException e) {
+            // The client went away.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // For requests whose body has already been read.
+    private static void sendStatus(HttpExchange exchange, int status) {
+        try {
+            exchange.sendResponseHeaders(status, -1);
+        } catch (IOException e) {
+            // The client went away.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Reads and drops at most limit bytes; true if the body ended within them.
+    private static boolean discard(InputStream in, long limit) throws IOException {
+        byte[] scratch = new byte[8192];
+        long remaining = limit;
+        while (remaining > 0) {
+            int n = in.read(scratch, 0, (int) Math.min(scratch.length, remaining));
+            if (n < 0) {
+                return true;
+            }
+            remaining -= n;
+        }
+        return in.read() < 0;
+    }
+
+    // Turns off Nagle's algorithm for HttpServers created after this call, unless the command line
+    // already chose.
+    static void defaultToNoDelay() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    // Usage: MajorityServer [port] [workers] [queueCapacity] [maxQueuedInts]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+        long maxQueuedInts = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_MAX_QUEUED_INTS;
+
+        defaultToNoDelay();
+        MetricsRegistry.GLOBAL.setEnabled(true);
+        MajorityServer majorityServer = new MajorityServer(port, workers, queueCapacity, maxQueuedInts).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(majorityServer::close));
+        System.out.println("Majority server on http://127.0.0.1:" + majorityServer.getPort() + PATH
+            + " (" + workers + " workers, queue " + queueCapacity + " requests / " + maxQueuedInts
+            + " ints), metrics at " + MetricsHttpEndpoint.PATH);
+    }
+}
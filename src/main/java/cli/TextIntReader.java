@@ -0,0 +1,134 @@
+package cli;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+// Parses decimal ints from a byte channel in fixed-size chunks. Any byte other than a digit or a
+// leading '-' separates values, so newline-, comma- and whitespace-separated input all work; a '-'
+// after the start of a number is rejected.
+public class TextIntReader implements Closeable {
+
+    public static final int DEFAULT_CHUNK_BYTES = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer chunk;
+    private final byte[] bytes;
+    private long bytesRead;
+    private boolean endOfInput;
+
+    // Parse state carried across chunk boundaries.
+    private boolean inNumber;
+    private boolean negative;
+    private boolean hasDigits;
+    private long value;
+
+    public TextIntReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_CHUNK_BYTES);
+    }
+
+    public TextIntReader(ReadableByteChannel channel, int chunkBytes) {
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("chunkBytes must be positive: " + chunkBytes);
+        }
+        this.channel = channel;
+        // Heap buffer so the inner loop indexes a byte[] directly.
+        this.bytes = new byte[chunkBytes];
+        this.chunk = ByteBuffer.wrap(bytes);
+        this.chunk.flip();
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    // Fills batch from the start and returns the number of values, or -1 once the input is exhausted.
+    public int read(int[] batch) throws IOException {
+        // Parse state lives in locals inside the byte loop and is written back once per call.
+        boolean inNumber = this.inNumber;
+        boolean negative = this.negative;
+        boolean hasDigits = this.hasDigits;
+        long value = this.value;
+
+        int count = 0;
+        while (count < batch.length) {
+            if (!chunk.hasRemaining() && (endOfInput || !refill())) {
+                if (inNumber) {
+                    batch[count++] = toInt(value, negative, hasDigits);
+                    inNumber = false;
+                    negative = false;
+                    hasDigits = false;
+                    value = 0;
+                }
+                break;
+            }
+
+            int limit = chunk.limit();
+            int position = chunk.position();
+            while (position < limit && count < batch.length) {
+                int digit = bytes[position++] - '0';
+                if (digit >= 0 && digit <= 9) {
+                    value = value * 10 + digit;
+                    if (value > 2147483648L) {
+                        throw new NumberFormatException("Integer out of range near byte " + (bytesRead - limit + position));
+                    }
+                    inNumber = true;
+                    hasDigits = true;
+                } else if (digit == '-' - '0') {
+                    // "1-2" or "--1" is corrupt input, not two values.
+                    if (inNumber) {
+                        throw new NumberFormatException("Unexpected '-' inside a number near byte "
+                            + (bytesRead - limit + position));
+                    }
+                    inNumber = true;
+                    negative = true;
+                } else if (inNumber) {
+                    batch[count++] = toInt(value, negative, hasDigits);
+                    inNumber = false;
+                    negative = false;
+                    hasDigits = false;
+                    value = 0;
+                }
+            }
+            chunk.position(position);
+        }
+
+        this.inNumber = inNumber;
+        this.negative = negative;
+        this.hasDigits = hasDigits;
+        this.value = value;
+        return count == 0 && endOfInput ? -1 : count;
+    }
+
+    private boolean refill() throws IOException {
+        chunk.clear();
+        int read;
+        do {
+            read = channel.read(chunk);
+        } while (read == 0);
+        chunk.flip();
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        bytesRead += read;
+        return true;
+    }
+
+    private int toInt(long value, boolean negative, boolean hasDigits) {
+        if (!hasDigits) {
+            throw new NumberFormatException("'-' without digits near byte " + (bytesRead - chunk.remaining()));
+        }
+        long result = negative ? -value : value;
+        if (result > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Integer out of range: " + result);
+        }
+        return (int) result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
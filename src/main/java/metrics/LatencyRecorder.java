@@ -0,0 +1,144 @@
+package metrics;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Log-linear latency histogram in the style of HdrHistogram: values below 2^SUB_BITS get exact
+// buckets, and every power-of-two range above that is split into 2^(SUB_BITS - 1) linear buckets,
+// so any recorded value is reported within 1/64 of its true size. record() only touches a long[].
+public class LatencyRecorder {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF_COUNT = SUB_COUNT / 2;
+    // Covers every non-negative long: its top bit is at most bit 62, so shifts run from 1 to 62 - (SUB_BITS - 1).
+    private static final int BUCKET_COUNT = SUB_COUNT + (63 - SUB_BITS) * HALF_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Latency must not be negative: " + nanos);
+        }
+        counts[bucketIndex(nanos)]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos < minNanos) {
+            minNanos = nanos;
+        }
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMinNanos() {
+        return count == 0 ? 0 : minNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / (double) count;
+    }
+
+    // Calls per second if the recorded calls ran back to back.
+    public double getThroughputPerSecond() {
+        return totalNanos == 0 ? 0 : count * 1_000_000_000.0 / totalNanos;
+    }
+
+    // Smallest recorded value v such that at least percentile% of samples are <= v, reported as the
+    // top of its bucket and clamped to the exact min and max.
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(minNanos, Math.min(maxNanos, highestValueInBucket(i)));
+            }
+        }
+        return maxNanos;
+    }
+
+    public void merge(LatencyRecorder other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        totalNanos += other.totalNanos;
+        minNanos = Math.min(minNanos, other.minNanos);
+        maxNanos = Math.max(maxNanos, other.maxNanos);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalNanos = 0;
+        minNanos = Long.MAX_VALUE;
+        maxNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "Samples: %d, p50: %.3f us, p90: %.3f us, p99: %.3f us, p99.9: %.3f us, max: %.3f us, %.1f calls/s",
+            count, getValueAtPercentile(50) / 1000.0, getValueAtPercentile(90) / 1000.0,
+            getValueAtPercentile(99) / 1000.0, getValueAtPercentile(99.9) / 1000.0, maxNanos / 1000.0,
+            getThroughputPerSecond()
+        );
+    }
+
+    public String toCSVHeader() {
+        return "Samples,P50Ms,P90Ms,P99Ms,P999Ms,MaxMs,CallsPerSecond";
+    }
+
+    public String toCSVRow() {
+        return String.format(Locale.ROOT, "%d,%.6f,%.6f,%.6f,%.6f,%.6f,%.1f",
+            count, getValueAtPercentile(50) / 1_000_000.0, getValueAtPercentile(90) / 1_000_000.0,
+            getValueAtPercentile(99) / 1_000_000.0, getValueAtPercentile(99.9) / 1_000_000.0,
+            maxNanos / 1_000_000.0, getThroughputPerSecond()
+        );
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        // shift >= 1 keeps the top SUB_BITS bits of value, whose leading bit is always set.
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        int sub = (int) (value >>> shift);
+        return SUB_COUNT + (shift - 1) * HALF_COUNT + (sub - HALF_COUNT);
+    }
+
+    static long highestValueInBucket(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_COUNT;
+        int shift = offset / HALF_COUNT + 1;
+        long sub = offset % HALF_COUNT + HALF_COUNT;
+        long next = (sub + 1) << shift;
+        // The last bucket's upper end would overflow past Long.MAX_VALUE.
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
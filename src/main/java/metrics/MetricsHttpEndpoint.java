@@ -0,0 +1,51 @@
+package metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+// Serves MetricsRegistry.getPrometheusText() at /metrics on the loopback interface.
+public final class MetricsHttpEndpoint {
+
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private MetricsHttpEndpoint() {
+    }
+
+    // port 0 picks a free port; read it back from server.getAddress(). Stop with server.stop(0).
+    public static HttpServer start(MetricsRegistry registry, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, handler(registry));
+        server.start();
+        return server;
+    }
+
+    // For servers that already run an HttpServer and only want to mount the scrape path.
+    public static HttpHandler handler(MetricsRegistry registry) {
+        return exchange -> serve(registry, exchange);
+    }
+
+    private static void serve(MetricsRegistry registry, HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = registry.getPrometheusText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
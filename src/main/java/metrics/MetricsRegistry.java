@@ -0,0 +1,209 @@
+package metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Process-wide, thread-safe totals for the majority engine. Counters are striped like LongAdder over a
+// fixed, power-of-two number of padded cells (at least twice the CPU count) picked by a hash of the
+// thread id, so any number of short-lived or virtual threads shares the same memory. A call claims its
+// cell with one CAS and then updates it with plain single-writer stores; readers sum all cells.
+// GLOBAL starts disabled; enable it with -Dmajority.metrics=true or setEnabled(true).
+public final class MetricsRegistry implements MetricsRegistryMBean {
+
+    public static final String OBJECT_NAME = "metrics:type=MajorityVote";
+
+    // Upper bounds of the duration histogram in nanoseconds; the last bucket is +Inf.
+    private static final long[] BUCKET_BOUNDS_NANOS = {
+        1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+    private static final String[] BUCKET_LABELS = {
+        "1e-06", "1e-05", "0.0001", "0.001", "0.01", "0.1", "1", "+Inf"
+    };
+
+    // Slot layout of a cell, padded on both sides so neighbouring cells never share a cache line.
+    private static final int PADDING = 8;
+    // 1 while a call owns the cell.
+    private static final int OWNER = PADDING - 1;
+    private static final int CALLS = PADDING;
+    private static final int ELEMENTS = PADDING + 1;
+    private static final int FOUND = PADDING + 2;
+    private static final int NANOS = PADDING + 3;
+    private static final int BUCKETS = PADDING + 4;
+    private static final int SLOTS = BUCKETS + BUCKET_BOUNDS_NANOS.length + 1;
+    private static final int CELL_LENGTH = SLOTS + PADDING;
+    private static final int CELLS =
+        Integer.highestOneBit(Math.max(1, 2 * Runtime.getRuntime().availableProcessors() - 1)) << 1;
+    private static final int CELL_SHIFT = 64 - Integer.numberOfTrailingZeros(CELLS);
+
+    // Declared after the tables above, which its constructor reads.
+    public static final MetricsRegistry GLOBAL = new MetricsRegistry(Boolean.getBoolean("majority.metrics"));
+
+    private volatile boolean enabled;
+    // All cells back to back, plus trailing padding after the last one.
+    private final AtomicLongArray cells = new AtomicLongArray(CELLS * CELL_LENGTH + PADDING);
+    // Zeroing cells would race with getAndAdd, so reset() moves this baseline instead.
+    private volatile long[] baseline = new long[SLOTS];
+
+    public MetricsRegistry() {
+        this(true);
+    }
+
+    private MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // nanos < 0 marks an untimed call: it counts towards the totals but not the histogram, so
+    // untracked callers never pay for System.nanoTime.
+    public void recordCall(int elementCount, boolean found, long nanos) {
+        int cell = claimCell();
+        add(cell + CALLS, 1);
+        add(cell + ELEMENTS, elementCount);
+        if (found) {
+            add(cell + FOUND, 1);
+        }
+        if (nanos >= 0) {
+            add(cell + NANOS, nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[bucket]) {
+                bucket++;
+            }
+            add(cell + BUCKETS + bucket, 1);
+        }
+        cells.lazySet(cell + OWNER, 0);
+    }
+
+    @Override
+    public long getCalls() {
+        return sum(CALLS);
+    }
+
+    @Override
+    public long getElements() {
+        return sum(ELEMENTS);
+    }
+
+    @Override
+    public long getMajorityFound() {
+        return sum(FOUND);
+    }
+
+    @Override
+    public double getMajorityFoundRatio() {
+        long total = sum(CALLS);
+        return total == 0 ? 0 : sum(FOUND) / (double) total;
+    }
+
+    @Override
+    public long getTimedCalls() {
+        long total = 0;
+        for (int bucket = BUCKETS; bucket < SLOTS; bucket++) {
+            total += sum(bucket);
+        }
+        return total;
+    }
+
+    @Override
+    public double getMeanTimeMs() {
+        long timed = getTimedCalls();
+        return timed == 0 ? 0 : sum(NANOS) / (double) timed / 1_000_000.0;
+    }
+
+    // Sums are read one counter at a time, so a dump taken under load may be off by in-flight calls.
+    @Override
+    public String getPrometheusText() {
+        StringBuilder out = new StringBuilder(1024);
+        counter(out, "majority_vote_calls_total", "Majority engine calls.", sum(CALLS));
+        counter(out, "majority_vote_elements_total", "Input elements passed to the majority engine.", sum(ELEMENTS));
+        counter(out, "majority_vote_majority_found_total", "Calls that found a majority element.", sum(FOUND));
+
+        out.append("# HELP majority_vote_duration_seconds Duration of timed (tracked) calls.\n");
+        out.append("# TYPE majority_vote_duration_seconds histogram\n");
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            cumulative += sum(BUCKETS + i);
+            out.append("majority_vote_duration_seconds_bucket{le=\"").append(BUCKET_LABELS[i]).append("\"} ")
+                .append(cumulative).append('\n');
+        }
+        out.append("majority_vote_duration_seconds_sum ")
+            .append(String.format(Locale.ROOT, "%.9f", sum(NANOS) / 1e9)).append('\n');
+        out.append("majority_vote_duration_seconds_count ").append(cumulative).append('\n');
+        return out.toString();
+    }
+
+    // Calls recorded concurrently with reset may land on either side of it.
+    @Override
+    public synchronized void reset() {
+        long[] totals = new long[SLOTS];
+        for (int slot = CALLS; slot < SLOTS; slot++) {
+            totals[slot] = total(slot);
+        }
+        baseline = totals;
+    }
+
+    // Registers this registry with the platform MBean server. If OBJECT_NAME is already registered,
+    // the existing registration is kept.
+    public ObjectName registerMBean() throws JMException {
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, name);
+        } catch (InstanceAlreadyExistsException e) {
+            // Keep the first registration.
+        }
+        return name;
+    }
+
+    static int cellCount() {
+        return CELLS;
+    }
+
+    // Starts at a Fibonacci hash of the thread id and moves to the next cell while another call owns it.
+    private int claimCell() {
+        int cell = (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> CELL_SHIFT) * CELL_LENGTH;
+        while (!cells.compareAndSet(cell + OWNER, 0, 1)) {
+            cell += CELL_LENGTH;
+            if (cell == CELLS * CELL_LENGTH) {
+                cell = 0;
+            }
+        }
+        return cell;
+    }
+
+    // Only the owner of the cell writes, so read-then-lazySet is safe; releasing OWNER publishes it.
+    private void add(int slot, long delta) {
+        cells.lazySet(slot, cells.get(slot) + delta);
+    }
+
+    private long total(int slot) {
+        long total = 0;
+        for (int cell = 0; cell < CELLS * CELL_LENGTH; cell += CELL_LENGTH) {
+            total += cells.get(cell + slot);
+        }
+        return total;
+    }
+
+    private long sum(int slot) {
+        return total(slot) - baseline[slot];
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+}
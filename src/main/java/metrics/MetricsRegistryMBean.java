@@ -0,0 +1,25 @@
+package metrics;
+
+// JMX view of MetricsRegistry; registered under MetricsRegistry.OBJECT_NAME.
+public interface MetricsRegistryMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getCalls();
+
+    long getElements();
+
+    long getMajorityFound();
+
+    double getMajorityFoundRatio();
+
+    long getTimedCalls();
+
+    double getMeanTimeMs();
+
+    String getPrometheusText();
+
+    void reset();
+}
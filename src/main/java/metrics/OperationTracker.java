@@ -0,0 +1,14 @@
+package metrics;
+
+public interface OperationTracker {
+
+    void incrementComparisonCount();
+
+    void incrementArrayAccessCount();
+
+    void incrementAssignmentCount();
+
+    void startTimer();
+
+    void stopTimer();
+}
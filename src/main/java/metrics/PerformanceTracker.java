@@ -1,6 +1,12 @@
 package metrics;
 
-public class PerformanceTracker {
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+
+public class PerformanceTracker implements OperationTracker {
     private long comparisonCount;
     private long arrayAccessCount;
     private long assignmentCount;
@@ -8,7 +14,23 @@ public class PerformanceTracker {
     private long endTime;
     private long executionTime;
 
+    // Opt-in: the MXBean reads cost far more than the counters, so plain trackers skip them.
+    private final boolean trackResources;
+    private long startAllocatedBytes;
+    private long startGcCount;
+    private long startGcTimeMs;
+    private long allocatedBytes;
+    private long gcCount;
+    private long gcTimeMs;
+
     public PerformanceTracker() {
+        this(false);
+    }
+
+    // With trackResources, each startTimer/stopTimer pair also records the calling thread's allocated
+    // bytes and the GC count and time that elapsed in between (all collectors summed).
+    public PerformanceTracker(boolean trackResources) {
+        this.trackResources = trackResources;
         this.comparisonCount = 0;
         this.arrayAccessCount = 0;
         this.assignmentCount = 0;
@@ -17,25 +39,42 @@ public class PerformanceTracker {
         this.executionTime = 0;
     }
 
+    @Override
     public void incrementComparisonCount() {
         comparisonCount++;
     }
 
+    @Override
     public void incrementArrayAccessCount() {
         arrayAccessCount++;
     }
 
+    @Override
     public void incrementAssignmentCount() {
         assignmentCount++;
     }
 
+    @Override
     public void startTimer() {
+        if (trackResources) {
+            startGcCount = totalGcCount();
+            startGcTimeMs = totalGcTimeMs();
+            // Read last so the GC bean iteration above is not charged to the measured call.
+            startAllocatedBytes = currentThreadAllocatedBytes();
+        }
         startTime = System.nanoTime();
     }
 
+    @Override
     public void stopTimer() {
         endTime = System.nanoTime();
         executionTime = endTime - startTime;
+        if (trackResources) {
+            long allocated = currentThreadAllocatedBytes();
+            allocatedBytes = allocated < 0 ? -1 : allocated - startAllocatedBytes;
+            gcCount = totalGcCount() - startGcCount;
+            gcTimeMs = totalGcTimeMs() - startGcTimeMs;
+        }
     }
 
     public long getComparisonCount() {
@@ -58,6 +97,41 @@ public class PerformanceTracker {
         return executionTime / 1_000_000.0;
     }
 
+    public boolean isTrackingResources() {
+        return trackResources;
+    }
+
+    // Bytes allocated by the calling thread between startTimer and stopTimer, or -1 if the JVM cannot
+    // report per-thread allocation. Always 0 unless resource tracking is enabled.
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMs() {
+        return gcTimeMs;
+    }
+
+    public static boolean isAllocationTrackingSupported() {
+        return ResourceBeans.ALLOCATION != null;
+    }
+
+    // Adds another tracker's operation counts and allocated bytes; timing and GC deltas stay with this
+    // tracker, since GC counts are process-wide and would be double-counted across threads.
+    public void merge(PerformanceTracker other) {
+        comparisonCount += other.comparisonCount;
+        arrayAccessCount += other.arrayAccessCount;
+        assignmentCount += other.assignmentCount;
+        if (allocatedBytes >= 0 && other.allocatedBytes >= 0) {
+            allocatedBytes += other.allocatedBytes;
+        } else {
+            allocatedBytes = -1;
+        }
+    }
+
     public void reset() {
         comparisonCount = 0;
         arrayAccessCount = 0;
@@ -65,14 +139,21 @@ public class PerformanceTracker {
         startTime = 0;
         endTime = 0;
         executionTime = 0;
+        allocatedBytes = 0;
+        gcCount = 0;
+        gcTimeMs = 0;
     }
 
     @Override
     public String toString() {
-        return String.format(
+        String operations = String.format(
             "Comparisons: %d, Array Accesses: %d, Assignments: %d, Time: %.3f ms",
             comparisonCount, arrayAccessCount, assignmentCount, getExecutionTimeMs()
         );
+        if (!trackResources) {
+            return operations;
+        }
+        return operations + String.format(", Allocated: %d B, GC: %d (%d ms)", allocatedBytes, gcCount, gcTimeMs);
     }
 
     public String toCSVHeader() {
@@ -80,8 +161,54 @@ public class PerformanceTracker {
     }
 
     public String toCSVRow(int arraySize) {
-        return String.format("%d,%d,%d,%d,%.6f",
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%.6f",
             arraySize, comparisonCount, arrayAccessCount, assignmentCount, getExecutionTimeMs()
         );
     }
+
+    private static long currentThreadAllocatedBytes() {
+        com.sun.management.ThreadMXBean bean = ResourceBeans.ALLOCATION;
+        return bean == null ? -1 : bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Collectors report -1 when a value is undefined; those are skipped.
+    private static long totalGcCount() {
+        long total = 0;
+        List<GarbageCollectorMXBean> beans = ResourceBeans.GC;
+        for (int i = 0; i < beans.size(); i++) {
+            total += Math.max(0, beans.get(i).getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long totalGcTimeMs() {
+        long total = 0;
+        List<GarbageCollectorMXBean> beans = ResourceBeans.GC;
+        for (int i = 0; i < beans.size(); i++) {
+            total += Math.max(0, beans.get(i).getCollectionTime());
+        }
+        return total;
+    }
+
+    // Loaded on first use by a resource-tracking tracker, so plain trackers never switch on the
+    // JVM-wide per-thread allocation accounting.
+    private static final class ResourceBeans {
+        static final List<GarbageCollectorMXBean> GC = ManagementFactory.getGarbageCollectorMXBeans();
+        static final com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+
+        private static com.sun.management.ThreadMXBean allocationBean() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+                return null;
+            }
+            com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) bean;
+            if (!allocation.isThreadAllocatedMemorySupported()) {
+                return null;
+            }
+            if (!allocation.isThreadAllocatedMemoryEnabled()) {
+                allocation.setThreadAllocatedMemoryEnabled(true);
+            }
+            return allocation;
+        }
+    }
 }
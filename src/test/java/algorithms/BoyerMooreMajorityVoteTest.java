@@ -1,6 +1,14 @@
 package algorithms;
 
+import metrics.NoOpTracker;
 import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BoyerMooreMajorityVoteTest {
@@ -139,4 +147,213 @@ public class BoyerMooreMajorityVoteTest {
         assertEquals(0, result.firstIndex);
         assertEquals(6, result.lastIndex);
     }
+
+    @Test
+    public void testUntrackedMatchesTracked() {
+        int[][] arrays = {
+            {3, 3, 4, 2, 3, 3, 3},
+            {1, 2, 3, 4, 5},
+            {1, 2, 1, 2, 1, 2, 1},
+            {7},
+            {}
+        };
+
+        for (int[] array : arrays) {
+            BoyerMooreMajorityVote.Result tracked = BoyerMooreMajorityVote.findMajorityElement(array);
+            BoyerMooreMajorityVote.Result untracked = BoyerMooreMajorityVote.findMajorityElementUntracked(array);
+
+            assertEquals(tracked.majorityElement, untracked.majorityElement);
+            assertEquals(tracked.firstIndex, untracked.firstIndex);
+            assertEquals(tracked.lastIndex, untracked.lastIndex);
+            assertNull(untracked.metrics);
+        }
+    }
+
+    @Test
+    public void testNoOpTracker() {
+        int[] array = {2, 1, 2, 2, 3};
+        BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(array, NoOpTracker.INSTANCE);
+
+        assertEquals(2, result.majorityElement);
+        assertEquals(0, result.firstIndex);
+        assertEquals(3, result.lastIndex);
+        assertNull(result.metrics);
+    }
+
+    @Test
+    public void testAtMostTwoPasses() {
+        int[] array = new int[1001];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (i % 2 == 0) ? 8 : i;
+        }
+
+        BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(array);
+
+        assertEquals(8, result.majorityElement);
+        assertEquals(0, result.firstIndex);
+        assertEquals(1000, result.lastIndex);
+        assertTrue(result.metrics.getArrayAccessCount() <= 2L * array.length);
+    }
+
+    @Test
+    public void testEarlyRejectionWhenMajorityUnreachable() {
+        int[] array = new int[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        array[999] = 998;
+
+        BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(array);
+
+        assertEquals(-1, result.majorityElement);
+        assertTrue(result.metrics.getArrayAccessCount() < 2L * array.length);
+    }
+
+    @Test
+    public void testBranchFreeCandidateMatchesBranching() {
+        Random random = new Random(16);
+        int[] extremes = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, 1};
+
+        for (int trial = 0; trial < 5000; trial++) {
+            int[] array = new int[1 + random.nextInt(40)];
+            int domain = 1 + random.nextInt(4);
+            for (int i = 0; i < array.length; i++) {
+                array[i] = trial % 2 == 0 ? random.nextInt(domain) : extremes[random.nextInt(domain)];
+            }
+
+            assertEquals(
+                BoyerMooreMajorityVote.findCandidate(array, BoyerMooreMajorityVote.CandidateKernel.BRANCHING),
+                BoyerMooreMajorityVote.findCandidate(array, BoyerMooreMajorityVote.CandidateKernel.BRANCH_FREE),
+                Arrays.toString(array));
+        }
+    }
+
+    @Test
+    public void testUntrackedKernelsAgree() {
+        Random random = new Random(61);
+        for (int size : new int[]{1, 2, 3, 4, 5, 1000, 100_000}) {
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextBoolean() ? 123_456_789 : random.nextInt();
+            }
+
+            BoyerMooreMajorityVote.Result branching = BoyerMooreMajorityVote.findMajorityElementUntracked(
+                array, BoyerMooreMajorityVote.CandidateKernel.BRANCHING);
+            BoyerMooreMajorityVote.Result branchFree = BoyerMooreMajorityVote.findMajorityElementUntracked(
+                array, BoyerMooreMajorityVote.CandidateKernel.BRANCH_FREE);
+
+            assertEquals(branching.majorityElement, branchFree.majorityElement);
+            assertEquals(branching.firstIndex, branchFree.firstIndex);
+            assertEquals(branching.lastIndex, branchFree.lastIndex);
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> BoyerMooreMajorityVote.findCandidate(new int[0], BoyerMooreMajorityVote.CandidateKernel.BRANCH_FREE));
+    }
+
+    @Test
+    public void testSortedPathMatchesLinear() {
+        Random random = new Random(17);
+        for (int trial = 0; trial < 2000; trial++) {
+            int[] array = new int[1 + random.nextInt(30)];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt(3);
+            }
+            Arrays.sort(array);
+            int[] descending = new int[array.length];
+            for (int i = 0; i < array.length; i++) {
+                descending[i] = array[array.length - 1 - i];
+            }
+
+            for (int[] input : new int[][]{array, descending}) {
+                BoyerMooreMajorityVote.Result expected =
+                    BoyerMooreMajorityVote.findMajorityElement(input, NoOpTracker.INSTANCE);
+                BoyerMooreMajorityVote.Result sorted = BoyerMooreMajorityVote.findMajoritySorted(input);
+                BoyerMooreMajorityVote.Result declared = BoyerMooreMajorityVote.findMajorityElement(
+                    input, BoyerMooreMajorityVote.detectOrder(input));
+
+                for (BoyerMooreMajorityVote.Result actual : new BoyerMooreMajorityVote.Result[]{sorted, declared}) {
+                    assertEquals(expected.majorityElement, actual.majorityElement, Arrays.toString(input));
+                    assertEquals(expected.firstIndex, actual.firstIndex, Arrays.toString(input));
+                    assertEquals(expected.lastIndex, actual.lastIndex, Arrays.toString(input));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSortedPathIsLogarithmic() {
+        int[] array = new int[1 << 20];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i < 300_000 ? i : 1_000_000;
+        }
+
+        BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElement(
+            array, BoyerMooreMajorityVote.InputOrder.ASCENDING);
+
+        assertEquals(1_000_000, result.majorityElement);
+        assertEquals(300_000, result.firstIndex);
+        assertEquals(array.length - 1, result.lastIndex);
+        assertTrue(result.metrics.getArrayAccessCount() <= 2 * 20 + 1);
+    }
+
+    @Test
+    public void testDetectOrder() {
+        assertEquals(BoyerMooreMajorityVote.InputOrder.ASCENDING, BoyerMooreMajorityVote.detectOrder(new int[]{1, 1, 2}));
+        assertEquals(BoyerMooreMajorityVote.InputOrder.DESCENDING, BoyerMooreMajorityVote.detectOrder(new int[]{3, 2, 2}));
+        assertEquals(BoyerMooreMajorityVote.InputOrder.UNKNOWN, BoyerMooreMajorityVote.detectOrder(new int[]{1, 3, 2}));
+        assertEquals(BoyerMooreMajorityVote.InputOrder.ASCENDING, BoyerMooreMajorityVote.detectOrder(new int[0]));
+        assertEquals(-1, BoyerMooreMajorityVote.findMajoritySorted(new int[0]).majorityElement);
+    }
+
+    @Test
+    public void testSliceAndBufferOverloadsMatchArray() {
+        Random random = new Random(19);
+        for (int trial = 0; trial < 500; trial++) {
+            int[] array = new int[random.nextInt(40)];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt(3) - 1;
+            }
+            int offset = array.length == 0 ? 0 : random.nextInt(array.length);
+            int length = random.nextInt(array.length - offset + 1);
+            BoyerMooreMajorityVote.Result expected =
+                BoyerMooreMajorityVote.findMajorityElement(Arrays.copyOfRange(array, offset, offset + length));
+
+            IntBuffer ints = IntBuffer.wrap(array);
+            ints.position(offset).limit(offset + length);
+            ByteBuffer direct = ByteBuffer.allocateDirect(length * Integer.BYTES).order(ByteOrder.BIG_ENDIAN);
+            ByteBuffer heap = ByteBuffer.allocate(length * Integer.BYTES + 4).order(ByteOrder.LITTLE_ENDIAN);
+            heap.putInt(99);
+            for (int i = offset; i < offset + length; i++) {
+                direct.putInt(array[i]);
+                heap.putInt(array[i]);
+            }
+            direct.flip();
+            heap.flip().position(4);
+
+            BoyerMooreMajorityVote.Result[] results = {
+                BoyerMooreMajorityVote.findMajorityElement(array, offset, length),
+                BoyerMooreMajorityVote.findMajorityElementInBuffer(ints),
+                BoyerMooreMajorityVote.findMajorityElementInBuffer(direct, ByteOrder.BIG_ENDIAN),
+                BoyerMooreMajorityVote.findMajorityElementInBuffer(heap, ByteOrder.LITTLE_ENDIAN)
+            };
+            for (BoyerMooreMajorityVote.Result actual : results) {
+                assertEquals(expected.majorityElement, actual.majorityElement);
+                assertEquals(expected.firstIndex, actual.firstIndex);
+                assertEquals(expected.lastIndex, actual.lastIndex);
+                assertNotNull(actual.metrics);
+            }
+            // Inputs are read in place; positions are untouched.
+            assertEquals(offset, ints.position());
+            assertEquals(0, direct.position());
+            assertEquals(4, heap.position());
+        }
+    }
+
+    @Test
+    public void testBufferOverloadValidation() {
+        assertThrows(IllegalArgumentException.class,
+            () -> BoyerMooreMajorityVote.findMajorityElementInBuffer(ByteBuffer.allocate(6), ByteOrder.LITTLE_ENDIAN));
+        assertThrows(IndexOutOfBoundsException.class,
+            () -> BoyerMooreMajorityVote.findMajorityElement(new int[4], 2, 3));
+    }
 }
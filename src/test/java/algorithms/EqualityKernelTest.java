@@ -0,0 +1,76 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EqualityKernelTest {
+
+    private static List<EqualityKernel> kernels() {
+        List<EqualityKernel> kernels = new ArrayList<>();
+        kernels.add(EqualityKernels.DEFAULT);
+        if (EqualityKernels.isVectorized()) {
+            for (int bits : new int[]{64, 128, 256, 512}) {
+                kernels.add(EqualityKernels.forVectorBits(bits));
+            }
+        }
+        return kernels;
+    }
+
+    @Test
+    public void testKernelsMatchScalar() {
+        EqualityKernel scalar = EqualityKernels.scalar();
+        Random random = new Random(5);
+
+        for (EqualityKernel kernel : kernels()) {
+            for (int trial = 0; trial < 300; trial++) {
+                int[] array = new int[random.nextInt(200)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = random.nextInt(4);
+                }
+                int from = array.length == 0 ? 0 : random.nextInt(array.length);
+                int to = from + random.nextInt(array.length - from + 1);
+                int value = random.nextInt(5);
+
+                String context = kernel.name() + " [" + from + ", " + to + ") value " + value;
+                assertEquals(scalar.countEqual(array, from, to, value), kernel.countEqual(array, from, to, value), context);
+                assertEquals(scalar.indexOf(array, from, to, value), kernel.indexOf(array, from, to, value), context);
+                assertEquals(scalar.lastIndexOf(array, from, to, value),
+                    kernel.lastIndexOf(array, from, to, value), context);
+            }
+        }
+    }
+
+    @Test
+    public void testUntrackedPathUsesKernelCorrectly() {
+        Random random = new Random(8);
+        for (int size : new int[]{1, 7, 4095, 4096, 4097, 20_000}) {
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextInt(10) < 6 ? 1_000_000_007 : random.nextInt();
+            }
+            BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(
+                array, new PerformanceTracker());
+            BoyerMooreMajorityVote.Result actual = BoyerMooreMajorityVote.findMajorityElementUntracked(array);
+
+            assertEquals(expected.majorityElement, actual.majorityElement, "size " + size);
+            assertEquals(expected.firstIndex, actual.firstIndex, "size " + size);
+            assertEquals(expected.lastIndex, actual.lastIndex, "size " + size);
+        }
+    }
+
+    @Test
+    public void testVectorKernelAvailability() {
+        if (EqualityKernels.isVectorized()) {
+            assertTrue(EqualityKernels.DEFAULT.name().startsWith("vector-"));
+        } else {
+            assertEquals("scalar", EqualityKernels.DEFAULT.name());
+            assertThrows(UnsupportedOperationException.class, () -> EqualityKernels.forVectorBits(256));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GroupedMajorityVoteTest {
+
+    private static int[][] randomColumns(Random random, int rows, int cardinality) {
+        int[] keys = new int[rows];
+        int[] values = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            // Spread keys over the whole int range, including negatives and MIN_VALUE.
+            int key = random.nextInt(cardinality);
+            keys[row] = key == 0 ? Integer.MIN_VALUE : key * -1_640_531_527;
+            values[row] = random.nextInt(10) < 6 ? key % 3 : random.nextInt(4);
+        }
+        return new int[][]{keys, values};
+    }
+
+    // Reference: split rows by key (in first-appearance order) and run the plain engine on each piece.
+    private static void assertMatchesSplit(int[] keys, int[] values, GroupedMajorityVote.Groups groups) {
+        Map<Integer, List<Integer>> rowsByKey = new LinkedHashMap<>();
+        for (int row = 0; row < keys.length; row++) {
+            rowsByKey.computeIfAbsent(keys[row], k -> new ArrayList<>()).add(row);
+        }
+        assertEquals(rowsByKey.size(), groups.size());
+
+        int group = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : rowsByKey.entrySet()) {
+            List<Integer> rows = entry.getValue();
+            int[] piece = new int[rows.size()];
+            for (int i = 0; i < piece.length; i++) {
+                piece[i] = values[rows.get(i)];
+            }
+            BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(piece);
+            String context = "key " + entry.getKey();
+
+            assertEquals((int) entry.getKey(), groups.keys[group], context);
+            assertEquals(piece.length, groups.rowCount[group], context);
+            assertEquals(expected.firstIndex >= 0, groups.hasMajority(group), context);
+            if (expected.firstIndex >= 0) {
+                assertEquals(expected.majorityElement, groups.majority[group], context);
+                assertEquals((int) rows.get(expected.firstIndex), groups.firstRow[group], context);
+                assertEquals((int) rows.get(expected.lastIndex), groups.lastRow[group], context);
+            } else {
+                assertEquals(-1, groups.firstRow[group], context);
+                assertEquals(-1, groups.lastRow[group], context);
+            }
+            assertEquals(group, groups.indexOf(entry.getKey()), context);
+            group++;
+        }
+    }
+
+    @Test
+    public void testMatchesPerKeySplit() {
+        Random random = new Random(25);
+        for (int cardinality : new int[]{1, 3, 50, 2000}) {
+            int[][] columns = randomColumns(random, 5000, cardinality);
+            GroupedMajorityVote.Groups groups = GroupedMajorityVote.findMajorityByKey(columns[0], columns[1]);
+            assertMatchesSplit(columns[0], columns[1], groups);
+            assertMatchesSplit(columns[0], columns[1], GroupedMajorityVote.findMajorityByKeySplit(columns[0], columns[1]));
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        Random random = new Random(26);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (int cardinality : new int[]{1, 7, 1000, 40_000}) {
+                int[][] columns = randomColumns(random, 60_000, cardinality);
+                GroupedMajorityVote.Groups expected = GroupedMajorityVote.findMajorityByKey(columns[0], columns[1]);
+
+                for (int partitions : new int[]{1, 2, 5, 16}) {
+                    GroupedMajorityVote.Groups actual = GroupedMajorityVote.findMajorityByKeyParallel(
+                        columns[0], columns[1], pool, partitions);
+                    String context = "cardinality " + cardinality + ", partitions " + partitions;
+                    assertArrayEquals(expected.keys, actual.keys, context);
+                    assertArrayEquals(expected.majority, actual.majority, context);
+                    assertArrayEquals(expected.firstRow, actual.firstRow, context);
+                    assertArrayEquals(expected.lastRow, actual.lastRow, context);
+                    assertArrayEquals(expected.rowCount, actual.rowCount, context);
+                    assertEquals(expected.indexOf(columns[0][0]), actual.indexOf(columns[0][0]), context);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSmallExample() {
+        int[] keys = {7, 8, 7, 9, 7, 8, 8};
+        int[] values = {1, 2, 1, 3, 4, 5, 2};
+        GroupedMajorityVote.Groups groups = GroupedMajorityVote.findMajorityByKey(keys, values);
+
+        assertArrayEquals(new int[]{7, 8, 9}, groups.keys);
+        assertArrayEquals(new int[]{1, 2, 3}, groups.majority);
+        assertArrayEquals(new int[]{0, 1, 3}, groups.firstRow);
+        assertArrayEquals(new int[]{2, 6, 3}, groups.lastRow);
+        assertArrayEquals(new int[]{3, 3, 1}, groups.rowCount);
+        assertEquals(-1, groups.indexOf(10));
+    }
+
+    @Test
+    public void testEmptyAndInvalidInput() {
+        assertEquals(0, GroupedMajorityVote.findMajorityByKey(new int[0], new int[0]).size());
+        assertEquals(0, GroupedMajorityVote.findMajorityByKeyParallel(new int[0], new int[0]).size());
+        assertThrows(IllegalArgumentException.class,
+            () -> GroupedMajorityVote.findMajorityByKey(new int[2], new int[3]));
+        assertThrows(IllegalArgumentException.class,
+            () -> GroupedMajorityVote.findMajorityByKey(null, new int[0]));
+        assertThrows(IllegalArgumentException.class,
+            () -> GroupedMajorityVote.findMajorityByKeyParallel(new int[1], new int[1], ForkJoinPool.commonPool(), 0));
+    }
+}
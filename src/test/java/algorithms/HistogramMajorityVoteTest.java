@@ -0,0 +1,75 @@
+package algorithms;
+
+import metrics.NoOpTracker;
+import metrics.PerformanceTracker;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistogramMajorityVoteTest {
+
+    @Test
+    public void testMatchesBoyerMooreOnSmallDomain() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 20; trial++) {
+            int[] array = new int[5_000 + random.nextInt(5_000)];
+            int majority = random.nextInt(50) - 25;
+            for (int i = 0; i < array.length; i++) {
+                array[i] = trial % 2 == 0 && random.nextBoolean() ? majority : random.nextInt(50) - 25;
+            }
+
+            BoyerMooreMajorityVote.Result expected =
+                BoyerMooreMajorityVote.findMajorityElement(array, NoOpTracker.INSTANCE);
+            BoyerMooreMajorityVote.Result histogram = HistogramMajorityVote.findMajorityElement(array, -25, 24);
+            BoyerMooreMajorityVote.Result selected = BoyerMooreMajorityVote.findMajorityElementAuto(array);
+
+            for (BoyerMooreMajorityVote.Result actual : new BoyerMooreMajorityVote.Result[]{histogram, selected}) {
+                assertEquals(expected.majorityElement, actual.majorityElement);
+                assertEquals(expected.firstIndex, actual.firstIndex);
+                assertEquals(expected.lastIndex, actual.lastIndex);
+            }
+        }
+    }
+
+    @Test
+    public void testSelectorFallsBackOnUnsampledOutlier() {
+        int[] array = new int[10_000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i % 3 == 0 ? 1 : 2;
+        }
+        array[1] = Integer.MIN_VALUE;
+
+        BoyerMooreMajorityVote.Result result = BoyerMooreMajorityVote.findMajorityElementAuto(array);
+        assertEquals(2, result.majorityElement);
+        assertEquals(2, result.firstIndex);
+        assertEquals(9_998, result.lastIndex);
+    }
+
+    @Test
+    public void testDefaultPathDoesNotAllocateHistogram() {
+        Assumptions.assumeTrue(PerformanceTracker.isAllocationTrackingSupported());
+        int[] array = new int[100_000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i % 3 == 0 ? i % 100 : 7;
+        }
+        for (int warmup = 0; warmup < 200; warmup++) {
+            BoyerMooreMajorityVote.findMajorityElement(array);
+        }
+
+        PerformanceTracker tracker = new PerformanceTracker(true);
+        assertEquals(7, BoyerMooreMajorityVote.findMajorityElement(array, tracker).majorityElement);
+        // A 100-value histogram would be three 400-byte arrays.
+        assertTrue(tracker.getAllocatedBytes() < 1_000, "allocated " + tracker.getAllocatedBytes() + " bytes");
+    }
+
+    @Test
+    public void testRejectsValuesOutsideDomain() {
+        assertThrows(IllegalArgumentException.class,
+            () -> HistogramMajorityVote.findMajorityElement(new int[]{1, 2, 30}, 0, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> HistogramMajorityVote.findMajorityElement(new int[]{1}, 0, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,108 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MajorityAccumulatorTest {
+
+    @Test
+    public void testMixedInputsMatchArrayResult() {
+        int[] array = {3, 1, 3, 2, 3, 3, 4, 3, 3};
+        MajorityAccumulator accumulator = new MajorityAccumulator();
+
+        accumulator.accept(array[0]);
+        accumulator.accept(array, 1, 4);
+        accumulator.accept(Arrays.stream(array, 5, array.length));
+
+        assertEquals(array.length, accumulator.getElementCount());
+        assertEquals(3, accumulator.getCandidate());
+
+        BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(array);
+        BoyerMooreMajorityVote.Result actual = accumulator.verify(() -> Arrays.stream(array));
+
+        assertEquals(expected.majorityElement, actual.majorityElement);
+        assertEquals(expected.firstIndex, actual.firstIndex);
+        assertEquals(expected.lastIndex, actual.lastIndex);
+        assertNotNull(actual.metrics);
+    }
+
+    @Test
+    public void testCandidateWithoutMajority() {
+        MajorityAccumulator accumulator = new MajorityAccumulator();
+        accumulator.accept(IntStream.of(1, 2, 3));
+
+        assertTrue(accumulator.hasCandidate());
+        assertEquals(3, accumulator.getCandidate());
+        assertEquals(-1, accumulator.verify(() -> IntStream.of(1, 2, 3)).majorityElement);
+    }
+
+    @Test
+    public void testEmptyAndCancelledState() {
+        MajorityAccumulator accumulator = new MajorityAccumulator();
+        assertFalse(accumulator.hasCandidate());
+        assertEquals(-1, accumulator.verify(IntStream::empty).majorityElement);
+
+        accumulator.accept(new int[]{1, 2});
+        assertFalse(accumulator.hasCandidate());
+        assertThrows(IllegalStateException.class, accumulator::getCandidate);
+
+        accumulator.reset();
+        assertEquals(0, accumulator.getElementCount());
+    }
+
+    @Test
+    public void testLongStream() {
+        MajorityAccumulator accumulator = new MajorityAccumulator();
+        accumulator.accept(IntStream.range(0, 3_000_000).map(i -> i % 3 == 0 ? i : 5));
+
+        assertEquals(5, accumulator.getCandidate());
+        BoyerMooreMajorityVote.Result result =
+            accumulator.verify(() -> IntStream.range(0, 3_000_000).map(i -> i % 3 == 0 ? i : 5));
+        assertEquals(5, result.majorityElement);
+        assertEquals(1, result.firstIndex);
+        assertEquals(2_999_999, result.lastIndex);
+    }
+
+    @Test
+    public void testReplayLengthMismatch() {
+        MajorityAccumulator accumulator = new MajorityAccumulator();
+        accumulator.accept(new int[]{4, 4, 4});
+
+        assertThrows(IllegalStateException.class, () -> accumulator.verify(() -> IntStream.of(4, 4)));
+        assertThrows(IllegalStateException.class, () -> accumulator.verify(() -> IntStream.of(4, 4, 4, 4)));
+        assertThrows(IndexOutOfBoundsException.class, () -> accumulator.accept(new int[]{1}, 0, 2));
+    }
+
+    @Test
+    public void testRejectsStreamsBeyondIntIndicesBeforeReplay() {
+        assertThrows(IllegalStateException.class, () -> MajorityAccumulator.verifyStream(7, true,
+            MajorityAccumulator.MAX_VERIFY_ELEMENTS + 1, () -> {
+                throw new AssertionError("source must not be replayed");
+            }));
+    }
+
+    @Test
+    public void testBatchVerificationMatchesStreamVerification() {
+        int[] values = {2, 9, 9, 1, 9, 9, 3, 9};
+        MajorityAccumulator accumulator = new MajorityAccumulator();
+        accumulator.accept(values);
+
+        MajorityAccumulator.Verification verification = accumulator.newVerification();
+        verification.accept(values, 0, 3);
+        verification.accept(values[3]);
+        verification.accept(values, 4, 4);
+        BoyerMooreMajorityVote.Result batched = verification.finish();
+        BoyerMooreMajorityVote.Result streamed = accumulator.verify(() -> IntStream.of(values));
+
+        assertEquals(9, batched.majorityElement);
+        assertEquals(5, verification.getOccurrences());
+        assertEquals(streamed.firstIndex, batched.firstIndex);
+        assertEquals(streamed.lastIndex, batched.lastIndex);
+        assertThrows(IllegalStateException.class, () -> accumulator.newVerification().finish());
+        assertThrows(IllegalStateException.class, () -> accumulator.newVerification().accept(new int[9], 0, 9));
+    }
+}
@@ -0,0 +1,71 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MajorityBatchTest {
+
+    @Test
+    public void testArraysAndFlatLayoutMatchSingleCalls() {
+        Random random = new Random(29);
+        int[][] arrays = new int[500][];
+        int total = 0;
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = new int[random.nextInt(12)];
+            for (int j = 0; j < arrays[i].length; j++) {
+                arrays[i][j] = random.nextInt(3);
+            }
+            total += arrays[i].length;
+        }
+
+        int[] values = new int[total];
+        int[] offsets = new int[arrays.length];
+        int[] lengths = new int[arrays.length];
+        for (int i = 0, position = 0; i < arrays.length; i++) {
+            System.arraycopy(arrays[i], 0, values, position, arrays[i].length);
+            offsets[i] = position;
+            lengths[i] = arrays[i].length;
+            position += arrays[i].length;
+        }
+
+        int[] majority = new int[arrays.length];
+        int[] firstIndex = new int[arrays.length];
+        int[] lastIndex = new int[arrays.length];
+        int[] flatMajority = new int[arrays.length];
+        int[] flatFirstIndex = new int[arrays.length];
+        int[] flatLastIndex = new int[arrays.length];
+        PerformanceTracker aggregate = new PerformanceTracker();
+
+        MajorityBatch.findMajorityElements(arrays, majority, firstIndex, lastIndex, aggregate);
+        MajorityBatch.findMajorityElements(values, offsets, lengths, flatMajority, flatFirstIndex, flatLastIndex);
+
+        MajorityBatch.MutableResult reusable = new MajorityBatch.MutableResult();
+        for (int i = 0; i < arrays.length; i++) {
+            BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(arrays[i]);
+            assertEquals(expected.majorityElement, majority[i]);
+            assertEquals(expected.firstIndex, firstIndex[i]);
+            assertEquals(expected.lastIndex, lastIndex[i]);
+            assertEquals(expected.majorityElement, flatMajority[i]);
+            assertEquals(expected.firstIndex, flatFirstIndex[i]);
+            assertEquals(expected.lastIndex, flatLastIndex[i]);
+
+            assertEquals(expected.firstIndex != -1,
+                MajorityBatch.findMajorityElement(values, offsets[i], lengths[i], reusable));
+            assertEquals(expected.lastIndex, reusable.lastIndex);
+        }
+        assertTrue(aggregate.getArrayAccessCount() >= total);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+            () -> MajorityBatch.findMajorityElements(new int[][]{{1}, {2}}, new int[1], new int[2], new int[2]));
+        assertThrows(IndexOutOfBoundsException.class,
+            () -> MajorityBatch.findMajorityElements(new int[]{1, 2}, new int[]{1}, new int[]{2},
+                new int[1], new int[1], new int[1]));
+    }
+}
@@ -0,0 +1,60 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MajorityJobExecutorTest {
+
+    @Test
+    public void testResultsInSubmissionOrder() {
+        Random random = new Random(31);
+        int[][] jobs = new int[200][];
+        for (int i = 0; i < jobs.length; i++) {
+            jobs[i] = random.ints(50 + random.nextInt(50), 0, 3).toArray();
+        }
+
+        try (MajorityJobExecutor executor = new MajorityJobExecutor(MajorityJobExecutor.ThreadMode.PLATFORM, 8, 3)) {
+            List<BoyerMooreMajorityVote.Result> results = executor.runInOrder(IntStream.range(0, jobs.length).mapToObj(i -> jobs[i]));
+
+            assertEquals(jobs.length, results.size());
+            for (int i = 0; i < jobs.length; i++) {
+                BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(jobs[i]);
+                assertEquals(expected.majorityElement, results.get(i).majorityElement);
+                assertEquals(expected.lastIndex, results.get(i).lastIndex);
+            }
+
+            MajorityJobExecutor.Stats stats = executor.snapshot();
+            assertEquals(jobs.length, stats.completedJobs);
+            assertEquals(0, stats.queueDepth);
+            assertTrue(stats.p99LatencyMs >= stats.p50LatencyMs);
+        }
+    }
+
+    @Test
+    public void testUnorderedCompletion() {
+        AtomicInteger found = new AtomicInteger();
+        try (MajorityJobExecutor executor = new MajorityJobExecutor(MajorityJobExecutor.ThreadMode.PLATFORM, 2, 2)) {
+            executor.runUnordered(IntStream.range(0, 100).mapToObj(i -> new int[]{i, i, i + 1}),
+                result -> found.addAndGet(result.majorityElement != -1 ? 1 : 0));
+        }
+        assertEquals(100, found.get());
+    }
+
+    @Test
+    public void testVirtualModeMatchesRuntime() {
+        if (MajorityJobExecutor.virtualThreadsAvailable()) {
+            try (MajorityJobExecutor executor = new MajorityJobExecutor(MajorityJobExecutor.ThreadMode.VIRTUAL, 4)) {
+                assertEquals(5, executor.submit(new int[]{5, 5, 1}).join().majorityElement);
+            }
+        } else {
+            assertThrows(UnsupportedOperationException.class,
+                () -> new MajorityJobExecutor(MajorityJobExecutor.ThreadMode.VIRTUAL, 4));
+        }
+    }
+}
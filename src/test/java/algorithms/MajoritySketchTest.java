@@ -0,0 +1,119 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MajoritySketchTest {
+
+    @Test
+    public void testMergedShardsKeepMajority() {
+        int[] array = {3, 1, 3, 2, 3, 3, 4, 3, 3, 5, 3};
+        MajoritySketch merged = MajoritySketch.EMPTY;
+        for (int offset = 0; offset < array.length; offset += 3) {
+            merged = merged.merge(MajoritySketch.summarize(array, offset, Math.min(3, array.length - offset), 0));
+        }
+
+        assertEquals(array.length, merged.elementCount);
+        assertTrue(merged.hasCandidate());
+        assertEquals(3, merged.candidate);
+    }
+
+    @Test
+    public void testMergeOrderPreservesGuarantees() {
+        Random random = new Random(11);
+        int k = 8;
+        int[] array = new int[50_000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(3) == 0 ? random.nextInt(5) : random.nextInt(100_000);
+        }
+
+        MajoritySketch[] shards = new MajoritySketch[10];
+        for (int s = 0; s < shards.length; s++) {
+            shards[s] = MajoritySketch.summarize(array, s * 5_000, 5_000, k);
+        }
+        MajoritySketch leftToRight = MajoritySketch.EMPTY;
+        for (MajoritySketch shard : shards) {
+            leftToRight = leftToRight.merge(shard);
+        }
+        MajoritySketch tree = shards[0].merge(shards[1]).merge(shards[2].merge(shards[3]))
+            .merge(shards[4].merge(shards[5].merge(shards[6])).merge(shards[7].merge(shards[8]).merge(shards[9])));
+
+        Map<Integer, Integer> exact = new HashMap<>();
+        for (int value : array) {
+            exact.merge(value, 1, Integer::sum);
+        }
+        for (MajoritySketch sketch : new MajoritySketch[]{leftToRight, tree}) {
+            assertEquals(array.length, sketch.elementCount);
+            assertTrue(sketch.getCounterCount() <= k - 1);
+            int[] candidates = sketch.getHeavyHitterCandidates();
+            for (Map.Entry<Integer, Integer> entry : exact.entrySet()) {
+                if ((long) entry.getValue() * k > array.length) {
+                    assertTrue(Arrays.stream(candidates).anyMatch(c -> c == entry.getKey()),
+                        "missing heavy hitter " + entry.getKey());
+                }
+            }
+            // Counters never overestimate.
+            for (int i = 0; i < sketch.getCounterCount(); i++) {
+                assertTrue(sketch.getCounterValue(i) <= exact.get(sketch.getCounterKey(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testBinaryRoundTrip() {
+        int[] array = {-5, 7, 7, -5, 7, 9, 7, 7, Integer.MIN_VALUE, 7};
+        MajoritySketch sketch = MajoritySketch.summarize(array, 0, array.length, 4);
+
+        byte[] bytes = sketch.toBytes();
+        assertEquals(MajoritySketch.HEADER_BYTES + sketch.getCounterCount() * MajoritySketch.COUNTER_BYTES,
+            bytes.length);
+
+        MajoritySketch decoded = MajoritySketch.fromBytes(bytes);
+        assertEquals(sketch.candidate, decoded.candidate);
+        assertEquals(sketch.count, decoded.count);
+        assertEquals(sketch.elementCount, decoded.elementCount);
+        assertEquals(sketch.k, decoded.k);
+        assertArrayEquals(sketch.getHeavyHitterCandidates(), decoded.getHeavyHitterCandidates());
+        assertArrayEquals(bytes, decoded.toBytes());
+
+        // Layout is fixed regardless of the buffer's byte order, and several sketches can share a buffer.
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        sketch.writeTo(buffer);
+        MajoritySketch.EMPTY.writeTo(buffer);
+        buffer.flip();
+        assertEquals(7, MajoritySketch.readFrom(buffer).candidate);
+        assertEquals(0, MajoritySketch.readFrom(buffer).elementCount);
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+    }
+
+    @Test
+    public void testCorruptInputRejected() {
+        byte[] bytes = MajoritySketch.summarize(new int[]{1, 1, 2}, 0, 3, 3).toBytes();
+
+        assertThrows(IllegalArgumentException.class, () -> MajoritySketch.fromBytes(Arrays.copyOf(bytes, 10)));
+        assertThrows(IllegalArgumentException.class,
+            () -> MajoritySketch.fromBytes(Arrays.copyOf(bytes, bytes.length - 1)));
+
+        byte[] badMagic = bytes.clone();
+        badMagic[0] ^= 1;
+        assertThrows(IllegalArgumentException.class, () -> MajoritySketch.fromBytes(badMagic));
+    }
+
+    @Test
+    public void testMismatchedKRejected() {
+        MajoritySketch a = MajoritySketch.summarize(new int[]{1, 2}, 0, 2, 3);
+        MajoritySketch b = MajoritySketch.summarize(new int[]{1, 2}, 0, 2, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> a.merge(b));
+        assertThrows(IllegalArgumentException.class, () -> MajoritySketch.summarize(new int[0], 0, 0, 1));
+        assertSame(a, a.merge(MajoritySketch.EMPTY));
+    }
+}
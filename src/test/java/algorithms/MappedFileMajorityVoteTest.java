@@ -0,0 +1,62 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileMajorityVoteTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testMatchesArrayResultAcrossWindows() throws IOException {
+        Random random = new Random(5);
+        int[] array = new int[10_007];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(10) < 6 ? -3 : random.nextInt(100);
+        }
+        Path file = writeInts(array);
+
+        BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(array);
+        for (int window : new int[]{1, 7, 1024, 1 << 20}) {
+            BoyerMooreMajorityVote.Result actual =
+                MappedFileMajorityVote.findMajorityElement(file, window, new PerformanceTracker());
+
+            assertEquals(expected.majorityElement, actual.majorityElement, "window=" + window);
+            assertEquals(expected.firstIndex, actual.firstIndex, "window=" + window);
+            assertEquals(expected.lastIndex, actual.lastIndex, "window=" + window);
+        }
+    }
+
+    @Test
+    public void testNoMajorityAndEmptyFile() throws IOException {
+        assertEquals(-1, MappedFileMajorityVote.findMajorityElement(writeInts(new int[]{1, 2, 3, 4})).majorityElement);
+        assertEquals(-1, MappedFileMajorityVote.findMajorityElement(writeInts(new int[0])).majorityElement);
+    }
+
+    @Test
+    public void testRejectsTruncatedFile() throws IOException {
+        Path file = tempDir.resolve("truncated.bin");
+        Files.write(file, new byte[]{1, 0, 0, 0, 2});
+
+        assertThrows(IllegalArgumentException.class, () -> MappedFileMajorityVote.findMajorityElement(file));
+    }
+
+    private Path writeInts(int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(values);
+        Path file = Files.createTempFile(tempDir, "ints", ".bin");
+        Files.write(file, buffer.array());
+        return file;
+    }
+}
@@ -0,0 +1,79 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MisraGriesHeavyHittersTest {
+
+    @Test
+    public void testKEqualsTwoMatchesBoyerMoore() {
+        int[][] arrays = {
+            {3, 3, 4, 2, 3, 3, 3},
+            {1, 2, 3, 4, 5},
+            {1, 2, 1, 2, 1, 2, 1},
+            {1, 2}
+        };
+
+        for (int[] array : arrays) {
+            BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(array);
+            List<MisraGriesHeavyHitters.HeavyHitter> hitters =
+                MisraGriesHeavyHitters.findHeavyHitters(array, 2).heavyHitters;
+
+            if (expected.majorityElement == -1) {
+                assertTrue(hitters.isEmpty());
+            } else {
+                assertEquals(1, hitters.size());
+                assertEquals(expected.majorityElement, hitters.get(0).element);
+                assertEquals(expected.firstIndex, hitters.get(0).firstIndex);
+                assertEquals(expected.lastIndex, hitters.get(0).lastIndex);
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesExactCounts() {
+        Random random = new Random(3);
+        for (int k : new int[]{3, 5, 10, 100}) {
+            int[] array = new int[20_000];
+            for (int i = 0; i < array.length; i++) {
+                // Skewed distribution so that several values cross n/k.
+                array[i] = random.nextInt(4) == 0 ? random.nextInt(10_000) : random.nextInt(k / 2 + 1);
+            }
+
+            Map<Integer, int[]> exact = new HashMap<>();
+            for (int i = 0; i < array.length; i++) {
+                int index = i;
+                exact.computeIfAbsent(array[i], v -> new int[]{0, index, index});
+                int[] stats = exact.get(array[i]);
+                stats[0]++;
+                stats[2] = i;
+            }
+
+            MisraGriesHeavyHitters.Result result = MisraGriesHeavyHitters.findHeavyHitters(array, k);
+            long expectedCount = exact.values().stream().filter(s -> (long) s[0] * k > array.length).count();
+            assertTrue(expectedCount > 0);
+            assertEquals(expectedCount, result.heavyHitters.size(), "k=" + k);
+
+            for (MisraGriesHeavyHitters.HeavyHitter hitter : result.heavyHitters) {
+                int[] stats = exact.get(hitter.element);
+                assertEquals(stats[0], hitter.count);
+                assertEquals(stats[1], hitter.firstIndex);
+                assertEquals(stats[2], hitter.lastIndex);
+            }
+            assertTrue(result.metrics.getArrayAccessCount() >= 2L * array.length);
+        }
+    }
+
+    @Test
+    public void testEmptyAndInvalidInput() {
+        assertTrue(MisraGriesHeavyHitters.findHeavyHitters(new int[0], 3).heavyHitters.isEmpty());
+        assertTrue(MisraGriesHeavyHitters.findHeavyHitters(null, 3).heavyHitters.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> MisraGriesHeavyHitters.findHeavyHitters(new int[]{1}, 1));
+    }
+}
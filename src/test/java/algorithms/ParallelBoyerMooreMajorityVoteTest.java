@@ -0,0 +1,105 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelBoyerMooreMajorityVoteTest {
+
+    private final ParallelBoyerMooreMajorityVote engine =
+        new ParallelBoyerMooreMajorityVote(new ForkJoinPool(4), 1);
+
+    @Test
+    public void testMatchesSequentialWithMajority() {
+        Random random = new Random(7);
+        int[] array = new int[200_000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i % 5 < 3 ? 42 : random.nextInt(100);
+        }
+
+        assertSameResult(BoyerMooreMajorityVote.findMajorityElement(array), engine.findMajorityElement(array));
+        assertEquals(42, engine.findMajorityElement(array).majorityElement);
+    }
+
+    @Test
+    public void testMatchesSequentialWithoutMajority() {
+        Random random = new Random(11);
+        int[] array = new int[150_000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(3);
+        }
+
+        BoyerMooreMajorityVote.Result result = engine.findMajorityElement(array);
+        assertSameResult(BoyerMooreMajorityVote.findMajorityElement(array), result);
+        assertEquals(-1, result.majorityElement);
+    }
+
+    @Test
+    public void testMajorityConcentratedInOneChunk() {
+        int[] array = new int[100_001];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i < 50_001 ? 9 : i;
+        }
+
+        BoyerMooreMajorityVote.Result result = engine.findMajorityElement(array);
+        assertEquals(9, result.majorityElement);
+        assertEquals(0, result.firstIndex);
+        assertEquals(50_000, result.lastIndex);
+        assertTrue(result.metrics.getArrayAccessCount() > 0);
+    }
+
+    @Test
+    public void testFallsBackBelowThreshold() {
+        ParallelBoyerMooreMajorityVote fallback = new ParallelBoyerMooreMajorityVote(1_000);
+        int[] array = {3, 3, 4, 2, 3, 3, 3};
+
+        assertSameResult(BoyerMooreMajorityVote.findMajorityElement(array), fallback.findMajorityElement(array));
+        assertEquals(-1, fallback.findMajorityElement(null).majorityElement);
+    }
+
+    @Test
+    public void testUntrackedMatchesTracked() {
+        Random random = new Random(13);
+        int[] withMajority = new int[120_000];
+        int[] withoutMajority = new int[120_000];
+        for (int i = 0; i < withMajority.length; i++) {
+            withMajority[i] = random.nextInt(10) < 6 ? 5 : random.nextInt(50);
+            withoutMajority[i] = random.nextInt(2);
+        }
+
+        for (int[] array : new int[][] {withMajority, withoutMajority}) {
+            BoyerMooreMajorityVote.Result untracked = engine.findMajorityElementUntracked(array);
+            assertSameResult(engine.findMajorityElement(array), untracked);
+            assertNull(untracked.metrics);
+        }
+        assertEquals(-1, engine.findMajorityElementUntracked(new int[0]).majorityElement);
+    }
+
+    @Test
+    public void testRejectsInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBoyerMooreMajorityVote(0));
+    }
+
+    @Test
+    public void testCandidateSummaryMerge() {
+        CandidateSummary merged = new CandidateSummary(1, 5).merge(new CandidateSummary(2, 3));
+        assertEquals(1, merged.candidate);
+        assertEquals(2, merged.count);
+
+        merged = new CandidateSummary(1, 2).merge(new CandidateSummary(2, 3));
+        assertEquals(2, merged.candidate);
+        assertEquals(1, merged.count);
+
+        assertEquals(8, new CandidateSummary(4, 5).merge(new CandidateSummary(4, 3)).count);
+        assertSame(CandidateSummary.EMPTY.merge(merged), merged);
+    }
+
+    private static void assertSameResult(BoyerMooreMajorityVote.Result expected, BoyerMooreMajorityVote.Result actual) {
+        assertEquals(expected.majorityElement, actual.majorityElement);
+        assertEquals(expected.firstIndex, actual.firstIndex);
+        assertEquals(expected.lastIndex, actual.lastIndex);
+    }
+}
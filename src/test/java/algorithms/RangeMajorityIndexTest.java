@@ -0,0 +1,94 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RangeMajorityIndexTest {
+
+    @Test
+    public void testQueriesAndUpdatesMatchSlicing() {
+        Random random = new Random(17);
+        int[] array = new int[777];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(3) == 0 ? random.nextInt(20) : 4;
+        }
+        RangeMajorityIndex index = new RangeMajorityIndex(array);
+
+        for (int step = 0; step < 3_000; step++) {
+            if (step % 5 == 0) {
+                int position = random.nextInt(array.length);
+                int value = random.nextBoolean() ? 4 : random.nextInt(20);
+                array[position] = value;
+                index.set(position, value);
+            }
+
+            int from = random.nextInt(array.length);
+            int to = from + random.nextInt(Math.min(60, array.length - from));
+            BoyerMooreMajorityVote.Result expected =
+                BoyerMooreMajorityVote.findMajorityElement(Arrays.copyOfRange(array, from, to + 1));
+            BoyerMooreMajorityVote.Result actual = index.query(from, to);
+
+            assertEquals(expected.majorityElement, actual.majorityElement, "range " + from + ".." + to);
+            assertEquals(expected.firstIndex == -1 ? -1 : expected.firstIndex + from, actual.firstIndex);
+            assertEquals(expected.lastIndex == -1 ? -1 : expected.lastIndex + from, actual.lastIndex);
+        }
+    }
+
+    @Test
+    public void testUpdatesUnderADominantValue() {
+        Random random = new Random(29);
+        int[] array = new int[20_000];
+        Arrays.fill(array, 7);
+        RangeMajorityIndex index = new RangeMajorityIndex(array);
+
+        for (int step = 0; step < 20_000; step++) {
+            int position = random.nextInt(array.length);
+            int value = random.nextInt(4) == 0 ? random.nextInt(3) : 7;
+            array[position] = value;
+            index.set(position, value);
+
+            if (step % 500 == 0) {
+                int from = random.nextInt(array.length);
+                int to = from + random.nextInt(array.length - from);
+                BoyerMooreMajorityVote.Result expected =
+                    BoyerMooreMajorityVote.findMajorityElement(Arrays.copyOfRange(array, from, to + 1));
+                BoyerMooreMajorityVote.Result actual = index.query(from, to);
+                assertEquals(expected.majorityElement, actual.majorityElement);
+                assertEquals(expected.firstIndex == -1 ? -1 : expected.firstIndex + from, actual.firstIndex);
+                assertEquals(expected.lastIndex == -1 ? -1 : expected.lastIndex + from, actual.lastIndex);
+            }
+        }
+    }
+
+    @Test
+    public void testWholeArrayAndMetrics() {
+        int[] array = {3, 3, 4, 2, 3, 3, 3};
+        RangeMajorityIndex index = new RangeMajorityIndex(array);
+
+        BoyerMooreMajorityVote.Result result = index.query(0, array.length - 1);
+        assertEquals(3, result.majorityElement);
+        assertEquals(0, result.firstIndex);
+        assertEquals(6, result.lastIndex);
+        assertTrue(result.metrics.getArrayAccessCount() > 0);
+        assertTrue(index.getBuildMetrics().getArrayAccessCount() >= 2L * array.length);
+        assertTrue(index.getMemoryFootprintBytes() > 0);
+
+        index.set(4, 9);
+        index.set(5, 9);
+        assertEquals(-1, index.query(0, 6).majorityElement);
+        assertEquals(9, index.query(4, 5).majorityElement);
+    }
+
+    @Test
+    public void testInvalidRanges() {
+        RangeMajorityIndex index = new RangeMajorityIndex(new int[]{1, 2, 3});
+        assertThrows(IndexOutOfBoundsException.class, () -> index.query(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.query(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> new RangeMajorityIndex(null));
+        assertEquals(0, new RangeMajorityIndex(new int[0]).size());
+    }
+}
@@ -0,0 +1,68 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunLengthMajorityVoteTest {
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        int[] array = {5, 5, 5, 1, 2, 2, 5, 5};
+        RunLengthMajorityVote.Encoded encoded = RunLengthMajorityVote.encode(array);
+
+        assertArrayEquals(new int[]{5, 1, 2, 5}, encoded.values);
+        assertArrayEquals(new int[]{3, 1, 2, 2}, encoded.lengths);
+        assertArrayEquals(array, RunLengthMajorityVote.decode(encoded));
+        assertEquals(0, RunLengthMajorityVote.encode(new int[0]).runCount());
+    }
+
+    @Test
+    public void testMatchesDecodedScan() {
+        Random random = new Random(18);
+        for (int trial = 0; trial < 2000; trial++) {
+            int runs = random.nextInt(12);
+            int[] values = new int[runs];
+            int[] lengths = new int[runs];
+            for (int run = 0; run < runs; run++) {
+                values[run] = random.nextInt(3);
+                // Adjacent equal values and empty runs are legal and must not change the answer.
+                lengths[run] = random.nextInt(6);
+            }
+            RunLengthMajorityVote.Encoded encoded = new RunLengthMajorityVote.Encoded(values, lengths);
+            int[] decoded = RunLengthMajorityVote.decode(encoded);
+
+            BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(decoded);
+            BoyerMooreMajorityVote.Result actual = RunLengthMajorityVote.findMajorityElement(encoded);
+
+            assertEquals(expected.majorityElement, actual.majorityElement);
+            assertEquals(expected.firstIndex, actual.firstIndex);
+            assertEquals(expected.lastIndex, actual.lastIndex);
+        }
+    }
+
+    @Test
+    public void testWorkIsProportionalToRuns() {
+        RunLengthMajorityVote.Encoded encoded = new RunLengthMajorityVote.Encoded(
+            new int[]{7, 3, 7, 9}, new int[]{1_000_000, 400_000, 200_000, 100});
+
+        BoyerMooreMajorityVote.Result result = RunLengthMajorityVote.findMajorityElement(encoded);
+
+        assertEquals(7, result.majorityElement);
+        assertEquals(0, result.firstIndex);
+        assertEquals(1_599_999, result.lastIndex);
+        assertTrue(result.metrics.getArrayAccessCount() <= 3L * encoded.runCount());
+    }
+
+    @Test
+    public void testInvalidRuns() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new RunLengthMajorityVote.Encoded(new int[]{1}, new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> RunLengthMajorityVote.findMajorityElement(
+            new RunLengthMajorityVote.Encoded(new int[]{1}, new int[]{-1})));
+        assertThrows(IllegalArgumentException.class, () -> RunLengthMajorityVote.findMajorityElement(
+            new RunLengthMajorityVote.Encoded(new int[]{1, 2}, new int[]{Integer.MAX_VALUE, 1})));
+    }
+}
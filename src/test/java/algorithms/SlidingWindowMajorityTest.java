@@ -0,0 +1,67 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlidingWindowMajorityTest {
+
+    @Test
+    public void testMatchesRecomputationOnEveryEvent() {
+        for (int windowSize : new int[]{1, 2, 5, 16, 33}) {
+            Random random = new Random(windowSize);
+            SlidingWindowMajority window = new SlidingWindowMajority(windowSize);
+            int[] history = new int[2_000];
+
+            for (int i = 0; i < history.length; i++) {
+                // Alternate between a dominated phase and a noisy phase.
+                history[i] = (i / 100) % 2 == 0 && random.nextInt(4) != 0 ? 9 : random.nextInt(6);
+                window.push(history[i]);
+
+                int from = Math.max(0, i + 1 - windowSize);
+                BoyerMooreMajorityVote.Result expected =
+                    BoyerMooreMajorityVote.findMajorityElement(Arrays.copyOfRange(history, from, i + 1));
+                BoyerMooreMajorityVote.Result actual = window.currentResult();
+
+                assertEquals(expected.firstIndex != -1, window.hasMajority(),
+                    "window=" + windowSize + " event=" + i);
+                assertEquals(expected.majorityElement, actual.majorityElement);
+                assertEquals(expected.firstIndex, actual.firstIndex);
+                assertEquals(expected.lastIndex, actual.lastIndex);
+            }
+        }
+    }
+
+    @Test
+    public void testCountsAndEmptyWindow() {
+        SlidingWindowMajority window = new SlidingWindowMajority(4);
+        assertFalse(window.hasMajority());
+        assertThrows(IllegalStateException.class, window::getMajority);
+
+        window.push(1);
+        window.push(2);
+        window.push(2);
+        assertEquals(2, window.getMajority());
+        assertEquals(2, window.getMajorityCount());
+        assertEquals(1, window.getFirstPosition());
+        assertEquals(2, window.getLastPosition());
+
+        window.push(1);
+        assertFalse(window.hasMajority());
+        window.push(1);
+        window.push(1);
+        assertEquals(1, window.getMajority());
+        assertEquals(3, window.getMajorityCount());
+        assertEquals(1, window.getFirstPosition());
+        assertEquals(3, window.getLastPosition());
+        assertEquals(4, window.size());
+    }
+
+    @Test
+    public void testRejectsInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new SlidingWindowMajority(0));
+    }
+}
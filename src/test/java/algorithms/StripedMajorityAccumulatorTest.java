@@ -0,0 +1,123 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedMajorityAccumulatorTest {
+
+    @Test
+    public void testSingleThreadMatchesSequential() {
+        int[] array = {3, 1, 3, 2, 3, 3, 4, 3, 3};
+        StripedMajorityAccumulator accumulator = new StripedMajorityAccumulator(4);
+
+        accumulator.accept(array[0]);
+        accumulator.accept(array, 1, array.length - 1);
+
+        assertEquals(array.length, accumulator.getElementCount());
+        assertEquals(3, accumulator.snapshot().candidate);
+
+        BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(array);
+        BoyerMooreMajorityVote.Result actual = accumulator.verify(() -> Arrays.stream(array));
+        assertEquals(expected.majorityElement, actual.majorityElement);
+        assertEquals(expected.firstIndex, actual.firstIndex);
+        assertEquals(expected.lastIndex, actual.lastIndex);
+    }
+
+    @Test
+    public void testCountsBeyondThirtyTwoBitsSpillInsteadOfThrowing() {
+        StripedMajorityAccumulator accumulator = new StripedMajorityAccumulator(1);
+        accumulator.add(5, 3_000_000_000L);
+        accumulator.add(5, 3_000_000_000L);
+        accumulator.add(6, 1);
+
+        CandidateSummary summary = accumulator.snapshot();
+        assertEquals(5, summary.candidate);
+        assertEquals(5_999_999_999L, summary.count);
+
+        accumulator.reset();
+        assertEquals(0, accumulator.snapshot().count);
+    }
+
+    @Test
+    public void testStripeCountRoundedToPowerOfTwo() {
+        assertEquals(1, new StripedMajorityAccumulator(1).getStripeCount());
+        assertEquals(8, new StripedMajorityAccumulator(5).getStripeCount());
+        assertThrows(IllegalArgumentException.class, () -> new StripedMajorityAccumulator(0));
+    }
+
+    @Test
+    public void testConcurrentProducersFindMajority() throws InterruptedException {
+        int producers = 8;
+        int votesPerProducer = 200_000;
+        int[][] streams = new int[producers][];
+        for (int p = 0; p < producers; p++) {
+            Random random = new Random(p);
+            streams[p] = new int[votesPerProducer];
+            for (int i = 0; i < votesPerProducer; i++) {
+                streams[p][i] = random.nextInt(100) < 55 ? 7 : random.nextInt(1000);
+            }
+        }
+
+        StripedMajorityAccumulator accumulator = new StripedMajorityAccumulator(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int[] stream = streams[p];
+            boolean batched = p % 2 == 0;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < stream.length; i += 64) {
+                    if (batched) {
+                        accumulator.accept(stream, i, Math.min(64, stream.length - i));
+                    } else {
+                        for (int j = i; j < Math.min(i + 64, stream.length); j++) {
+                            accumulator.accept(stream[j]);
+                        }
+                    }
+                }
+            });
+            threads[p].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * votesPerProducer, accumulator.getElementCount());
+        assertEquals(7, accumulator.snapshot().candidate);
+
+        BoyerMooreMajorityVote.Result result = accumulator.verify(
+            () -> Arrays.stream(streams).flatMapToInt(Arrays::stream));
+        assertEquals(7, result.majorityElement);
+    }
+
+    @Test
+    public void testVerifyRejectsCandidateWithoutMajority() {
+        StripedMajorityAccumulator accumulator = new StripedMajorityAccumulator();
+        accumulator.accept(new int[]{1, 2, 3}, 0, 3);
+
+        assertTrue(accumulator.snapshot().count > 0);
+        assertEquals(-1, accumulator.verify(() -> IntStream.of(1, 2, 3)).majorityElement);
+    }
+
+    @Test
+    public void testReset() {
+        StripedMajorityAccumulator accumulator = new StripedMajorityAccumulator();
+        accumulator.accept(5);
+        accumulator.reset();
+
+        assertEquals(0, accumulator.getElementCount());
+        assertEquals(0, accumulator.snapshot().count);
+        assertEquals(-1, accumulator.verify(IntStream::empty).majorityElement);
+    }
+}
@@ -0,0 +1,197 @@
+package cli;
+
+import algorithms.BoyerMooreMajorityVote;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MajorityServerTest {
+
+    private static final class Reply {
+        final int status;
+        final byte[] body;
+
+        Reply(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static Reply send(int port, String method, byte[] payload) throws IOException {
+        URL url = URI.create("http://127.0.0.1:" + port + MajorityServer.PATH).toURL();
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        if (payload != null) {
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(payload.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(payload);
+            }
+        }
+        int status = connection.getResponseCode();
+        byte[] body = new byte[0];
+        try (InputStream in = status == 200 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (in != null) {
+                body = in.readAllBytes();
+            }
+        }
+        return new Reply(status, body);
+    }
+
+    @Test
+    public void testRepliesMatchEngineUnderConcurrentLoad() throws Exception {
+        Random random = new Random(3);
+        List<int[]> inputs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Mostly small requests, which get batched, plus a few above the batching threshold.
+            int size = i % 20 == 0 ? MajorityServer.SMALL_REQUEST_INTS + 1 + random.nextInt(5000) : random.nextInt(300);
+            int[] values = new int[size];
+            boolean majority = random.nextBoolean();
+            for (int j = 0; j < size; j++) {
+                values[j] = majority && random.nextInt(10) < 7 ? -5 : random.nextInt(4);
+            }
+            inputs.add(values);
+        }
+
+        try (MajorityServer server = new MajorityServer(0, 2, 1024).start()) {
+            ExecutorService clients = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Reply>> replies = new ArrayList<>();
+                for (int[] input : inputs) {
+                    replies.add(clients.submit(() -> send(server.getPort(), "POST", MajorityServer.encodeRequest(input))));
+                }
+                for (int i = 0; i < inputs.size(); i++) {
+                    Reply reply = replies.get(i).get();
+                    assertEquals(200, reply.status);
+                    BoyerMooreMajorityVote.Result expected = BoyerMooreMajorityVote.findMajorityElement(inputs.get(i));
+                    BoyerMooreMajorityVote.Result actual = MajorityServer.decodeResponse(reply.body);
+                    assertEquals(expected.majorityElement, actual.majorityElement, "request " + i);
+                    assertEquals(expected.firstIndex, actual.firstIndex, "request " + i);
+                    assertEquals(expected.lastIndex, actual.lastIndex, "request " + i);
+                }
+            } finally {
+                clients.shutdown();
+            }
+            assertEquals(inputs.size(), server.getServedCount());
+            assertTrue(server.getBatchCount() <= inputs.size());
+        }
+    }
+
+    @Test
+    public void testRejectsMalformedRequests() throws Exception {
+        try (MajorityServer server = new MajorityServer(0, 1, 16).start()) {
+            assertEquals(405, send(server.getPort(), "GET", null).status);
+            assertEquals(400, send(server.getPort(), "POST", new byte[]{1, 2, 3}).status);
+
+            Reply empty = send(server.getPort(), "POST", new byte[0]);
+            assertEquals(200, empty.status);
+            assertEquals(-1, MajorityServer.decodeResponse(empty.body).firstIndex);
+        }
+    }
+
+    @Test
+    public void testFullQueueAnswers503() throws Exception {
+        // No workers: the first request fills the one-slot queue and stays there.
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        MajorityServer server = new MajorityServer(address, 1, 1, MajorityServer.DEFAULT_MAX_QUEUED_INTS, false).start();
+        byte[] payload = MajorityServer.encodeRequest(new int[]{1, 1, 2});
+        try {
+            CompletableFuture<Reply> queued = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return send(server.getPort(), "POST", payload);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            for (int attempt = 0; attempt < 500 && server.getQueueDepth() == 0; attempt++) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, server.getQueueDepth());
+
+            Reply overflow = send(server.getPort(), "POST", payload);
+            assertEquals(503, overflow.status);
+            assertEquals(1, server.getRejectedCount());
+
+            // Closing answers the still-queued request instead of leaving it hanging.
+            server.close();
+            assertEquals(503, queued.get().status);
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testQueuedIntsAreBoundedBeforeTheBodyIsRead() throws Exception {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        MajorityServer server = new MajorityServer(address, 1, 16, 4, false).start();
+        try {
+            CompletableFuture<Reply> queued = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return send(server.getPort(), "POST", MajorityServer.encodeRequest(new int[]{1, 1, 2}));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            for (int attempt = 0; attempt < 500 && server.getQueueDepth() == 0; attempt++) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, server.getQueueDepth());
+
+            // One request slot is free, but three more ints would exceed the four admitted.
+            assertEquals(503, send(server.getPort(), "POST", MajorityServer.encodeRequest(new int[]{4, 4, 4})).status);
+            // A single request larger than the whole budget can never be admitted.
+            assertEquals(413, send(server.getPort(), "POST", MajorityServer.encodeRequest(new int[5])).status);
+            // Bodies past the drain limit are still answered with the status, not a reset connection.
+            int[] large = new int[MajorityServer.DRAIN_BYTES];
+            assertEquals(413, send(server.getPort(), "POST", MajorityServer.encodeRequest(large)).status);
+
+            server.close();
+            assertEquals(503, queued.get().status);
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testSaturatedReaderPoolAnswers503() throws Exception {
+        // One reader thread and a one-entry executor queue: a stalled upload occupies the reader, a
+        // second waits in the queue, and a third is rejected by the executor.
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        MajorityServer server = new MajorityServer(address, 1, 1, MajorityServer.DEFAULT_MAX_QUEUED_INTS, false).start();
+        String stalled = "POST " + MajorityServer.PATH + " HTTP/1.1\r\nHost: localhost\r\nContent-Length: 8\r\n\r\n";
+        try (Socket first = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             Socket second = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            first.getOutputStream().write(stalled.getBytes(StandardCharsets.US_ASCII));
+            first.getOutputStream().flush();
+            Thread.sleep(200);
+            second.getOutputStream().write(stalled.getBytes(StandardCharsets.US_ASCII));
+            second.getOutputStream().flush();
+            Thread.sleep(200);
+
+            Reply overflow = send(server.getPort(), "POST", MajorityServer.encodeRequest(new int[]{1, 1, 2}));
+            assertEquals(503, overflow.status);
+            assertEquals(1, server.getRejectedCount());
+        } finally {
+            server.close();
+        }
+    }
+}
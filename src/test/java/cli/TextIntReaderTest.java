@@ -0,0 +1,63 @@
+package cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextIntReaderTest {
+
+    private static int[] readAll(String text, int chunkBytes, int batchSize) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        int[] values = new int[0];
+        try (TextIntReader reader = new TextIntReader(
+                Channels.newChannel(new ByteArrayInputStream(bytes)), chunkBytes)) {
+            int[] batch = new int[batchSize];
+            int count;
+            while ((count = reader.read(batch)) >= 0) {
+                int offset = values.length;
+                values = Arrays.copyOf(values, offset + count);
+                System.arraycopy(batch, 0, values, offset, count);
+            }
+            assertEquals(bytes.length, reader.getBytesRead());
+        }
+        return values;
+    }
+
+    @Test
+    public void testSeparatorsAndChunkBoundaries() throws IOException {
+        String text = "12,-7\n 2147483647\r\n-2147483648,,0\t42";
+        int[] expected = {12, -7, Integer.MAX_VALUE, Integer.MIN_VALUE, 0, 42};
+
+        // Every chunk size splits numbers at a different place.
+        for (int chunkBytes = 1; chunkBytes <= text.length() + 1; chunkBytes++) {
+            for (int batchSize : new int[]{1, 2, 1024}) {
+                assertArrayEquals(expected, readAll(text, chunkBytes, batchSize),
+                    "chunk " + chunkBytes + ", batch " + batchSize);
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyInput() throws IOException {
+        assertEquals(0, readAll("", 4, 8).length);
+        assertEquals(0, readAll(" \n,\n", 4, 8).length);
+    }
+
+    @Test
+    public void testRejectsOutOfRangeAndBareMinus() {
+        assertThrows(NumberFormatException.class, () -> readAll("2147483648", 16, 8));
+        assertThrows(NumberFormatException.class, () -> readAll("-2147483649", 16, 8));
+        assertThrows(NumberFormatException.class, () -> readAll("1,-,2", 16, 8));
+        for (int chunkBytes = 1; chunkBytes <= 4; chunkBytes++) {
+            int chunk = chunkBytes;
+            assertThrows(NumberFormatException.class, () -> readAll("1-2", chunk, 8));
+            assertThrows(NumberFormatException.class, () -> readAll("3,--4", chunk, 8));
+        }
+    }
+}
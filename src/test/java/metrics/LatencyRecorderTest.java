@@ -0,0 +1,103 @@
+package metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyRecorderTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int value = 1; value <= 100; value++) {
+            recorder.record(value);
+        }
+
+        assertEquals(100, recorder.getCount());
+        assertEquals(50, recorder.getValueAtPercentile(50));
+        assertEquals(90, recorder.getValueAtPercentile(90));
+        assertEquals(99, recorder.getValueAtPercentile(99));
+        assertEquals(100, recorder.getValueAtPercentile(100));
+        assertEquals(1, recorder.getValueAtPercentile(0));
+        assertEquals(50.5, recorder.getMeanNanos(), 1e-9);
+    }
+
+    @Test
+    public void testBucketsAreContiguousAndBounded() {
+        long previousHigh = -1;
+        for (int index = 0; index < 2000; index++) {
+            long high = LatencyRecorder.highestValueInBucket(index);
+            long low = previousHigh + 1;
+            assertEquals(index, LatencyRecorder.bucketIndex(low), "low end of bucket " + index);
+            assertEquals(index, LatencyRecorder.bucketIndex(high), "high end of bucket " + index);
+            // Bucket width stays within 1/64 of the values it holds.
+            assertTrue(high - low <= Math.max(0, low / 64), "width of bucket " + index);
+            previousHigh = high;
+        }
+        assertEquals(Long.MAX_VALUE,
+            LatencyRecorder.highestValueInBucket(LatencyRecorder.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentilesMatchSortedSamples() {
+        Random random = new Random(17);
+        long[] samples = new long[50_000];
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 0; i < samples.length; i++) {
+            // Long-tailed, like call latencies: mostly microseconds with rare millisecond outliers.
+            samples[i] = (long) (1_000 * Math.exp(random.nextGaussian() * 1.5));
+            recorder.record(samples[i]);
+        }
+        Arrays.sort(samples);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long exact = samples[(int) Math.ceil(percentile / 100 * samples.length) - 1];
+            long reported = recorder.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact && reported <= exact + exact / 64,
+                "p" + percentile + ": exact " + exact + ", reported " + reported);
+        }
+        assertEquals(samples[samples.length - 1], recorder.getMaxNanos());
+        assertEquals(samples[0], recorder.getMinNanos());
+    }
+
+    @Test
+    public void testMergeAndReset() {
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        first.record(10);
+        first.record(1_000_000);
+        second.record(5);
+        second.record(20);
+
+        first.merge(second);
+        assertEquals(4, first.getCount());
+        assertEquals(5, first.getMinNanos());
+        assertEquals(1_000_000, first.getMaxNanos());
+        assertEquals(20, first.getValueAtPercentile(75));
+        assertEquals(4 * 1_000_000_000.0 / 1_000_035, first.getThroughputPerSecond(), 1e-6);
+
+        first.reset();
+        assertEquals(0, first.getCount());
+        assertEquals(0, first.getValueAtPercentile(99));
+        assertEquals(0, first.getMinNanos());
+        assertEquals(0, first.getThroughputPerSecond());
+    }
+
+    @Test
+    public void testRejectsInvalidInput() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        assertThrows(IllegalArgumentException.class, () -> recorder.record(-1));
+        assertThrows(IllegalArgumentException.class, () -> recorder.getValueAtPercentile(100.1));
+    }
+
+    @Test
+    public void testCsvRowMatchesHeader() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(2_500_000);
+        assertEquals(recorder.toCSVHeader().split(",").length, recorder.toCSVRow().split(",").length);
+        assertTrue(recorder.toCSVRow().startsWith("1,2.500000,"));
+    }
+}
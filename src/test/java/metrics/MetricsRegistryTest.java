@@ -0,0 +1,165 @@
+package metrics;
+
+import algorithms.BoyerMooreMajorityVote;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testCountersAndRatio() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordCall(100, true, 500);
+        registry.recordCall(50, false, 2_000_000);
+        registry.recordCall(10, true, -1);
+
+        assertEquals(3, registry.getCalls());
+        assertEquals(160, registry.getElements());
+        assertEquals(2, registry.getMajorityFound());
+        assertEquals(2 / 3.0, registry.getMajorityFoundRatio(), 1e-9);
+        assertEquals(2, registry.getTimedCalls());
+        assertEquals(1.00025, registry.getMeanTimeMs(), 1e-9);
+
+        registry.reset();
+        assertEquals(0, registry.getCalls());
+        assertEquals(0, registry.getTimedCalls());
+        assertEquals(0, registry.getMajorityFoundRatio());
+    }
+
+    @Test
+    public void testPrometheusHistogramIsCumulative() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordCall(1, true, 1_000);
+        registry.recordCall(1, true, 50_000);
+        registry.recordCall(1, false, 5_000_000_000L);
+
+        String text = registry.getPrometheusText();
+        assertTrue(text.contains("# TYPE majority_vote_calls_total counter\nmajority_vote_calls_total 3\n"), text);
+        assertTrue(text.contains("majority_vote_majority_found_total 2\n"), text);
+        assertTrue(text.contains("majority_vote_duration_seconds_bucket{le=\"1e-06\"} 1\n"), text);
+        assertTrue(text.contains("majority_vote_duration_seconds_bucket{le=\"1e-05\"} 1\n"), text);
+        assertTrue(text.contains("majority_vote_duration_seconds_bucket{le=\"0.0001\"} 2\n"), text);
+        assertTrue(text.contains("majority_vote_duration_seconds_bucket{le=\"1\"} 2\n"), text);
+        assertTrue(text.contains("majority_vote_duration_seconds_bucket{le=\"+Inf\"} 3\n"), text);
+        assertTrue(text.contains("majority_vote_duration_seconds_sum 5.000051000\n"), text);
+        assertTrue(text.contains("majority_vote_duration_seconds_count 3\n"), text);
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        int threads = 8;
+        int callsPerThread = 100_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < callsPerThread; i++) {
+                    registry.recordCall(3, (i & 1) == 0, i);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals((long) threads * callsPerThread, registry.getCalls());
+        assertEquals(3L * threads * callsPerThread, registry.getElements());
+        assertEquals((long) threads * callsPerThread / 2, registry.getMajorityFound());
+        assertEquals((long) threads * callsPerThread, registry.getTimedCalls());
+    }
+
+    @Test
+    public void testShortLivedThreadsShareAFixedSetOfCells() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        int threads = 2_000;
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> registry.recordCall(1, true, -1));
+            worker.start();
+            worker.join();
+        }
+
+        assertEquals(threads, registry.getCalls());
+        assertEquals(threads, registry.getMajorityFound());
+        int cells = MetricsRegistry.cellCount();
+        assertEquals(0, cells & (cells - 1));
+        assertTrue(cells >= Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    public void testEngineReportsIntoGlobalRegistryWhenEnabled() {
+        MetricsRegistry global = MetricsRegistry.GLOBAL;
+        boolean wasEnabled = global.isEnabled();
+        try {
+            global.setEnabled(false);
+            global.reset();
+            BoyerMooreMajorityVote.findMajorityElement(new int[]{1, 1, 2});
+            assertEquals(0, global.getCalls());
+
+            global.setEnabled(true);
+            BoyerMooreMajorityVote.findMajorityElement(new int[]{1, 1, 2});
+            BoyerMooreMajorityVote.findMajorityElementUntracked(new int[]{1, 2, 3, 4});
+            BoyerMooreMajorityVote.findMajorityElement(new int[]{5, 5, 5, 1, 2}, 0, 3);
+
+            assertEquals(3, global.getCalls());
+            assertEquals(10, global.getElements());
+            assertEquals(2, global.getMajorityFound());
+            // The untracked call has no timer, so it is counted but not timed.
+            assertEquals(2, global.getTimedCalls());
+        } finally {
+            global.setEnabled(wasEnabled);
+            global.reset();
+        }
+    }
+
+    @Test
+    public void testMBeanExposesCounters() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.GLOBAL;
+        ObjectName name = registry.registerMBean();
+        assertEquals(name, registry.registerMBean());
+
+        registry.reset();
+        registry.recordCall(7, true, 100);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(1L, server.getAttribute(name, "Calls"));
+        assertEquals(7L, server.getAttribute(name, "Elements"));
+        assertEquals(1.0, (Double) server.getAttribute(name, "MajorityFoundRatio"), 1e-9);
+
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, server.getAttribute(name, "Calls"));
+    }
+
+    @Test
+    public void testHttpEndpointServesPrometheusText() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.recordCall(4, true, 10);
+        HttpServer server = MetricsHttpEndpoint.start(registry, 0);
+        try {
+            URL url = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + MetricsHttpEndpoint.PATH).toURL();
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain"));
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            assertEquals(registry.getPrometheusText(), body);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package metrics;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformanceTrackerTest {
+
+    private static volatile Object sink;
+
+    @Test
+    public void testResourceTrackingIsOptIn() {
+        PerformanceTracker tracker = new PerformanceTracker();
+        tracker.startTimer();
+        sink = new byte[1 << 20];
+        tracker.stopTimer();
+
+        assertFalse(tracker.isTrackingResources());
+        assertEquals(0, tracker.getAllocatedBytes());
+        assertEquals(0, tracker.getGcCount());
+    }
+
+    @Test
+    public void testAllocatedBytesCoverMeasuredCall() {
+        Assumptions.assumeTrue(PerformanceTracker.isAllocationTrackingSupported());
+
+        PerformanceTracker tracker = new PerformanceTracker(true);
+        tracker.startTimer();
+        sink = new int[250_000];
+        tracker.stopTimer();
+
+        // One million bytes of payload plus the array header; nothing else runs between the reads.
+        assertTrue(tracker.getAllocatedBytes() >= 1_000_000, tracker.toString());
+        assertTrue(tracker.getAllocatedBytes() < 1_100_000, tracker.toString());
+        assertTrue(tracker.getGcCount() >= 0);
+        assertTrue(tracker.getGcTimeMs() >= 0);
+    }
+
+    @Test
+    public void testMergeAndResetCoverAllocation() {
+        Assumptions.assumeTrue(PerformanceTracker.isAllocationTrackingSupported());
+
+        PerformanceTracker first = new PerformanceTracker(true);
+        first.startTimer();
+        sink = new long[10_000];
+        first.stopTimer();
+
+        PerformanceTracker second = new PerformanceTracker(true);
+        second.startTimer();
+        sink = new long[20_000];
+        second.stopTimer();
+
+        long expected = first.getAllocatedBytes() + second.getAllocatedBytes();
+        first.merge(second);
+        assertEquals(expected, first.getAllocatedBytes());
+
+        first.reset();
+        assertEquals(0, first.getAllocatedBytes());
+        assertEquals(0, first.getGcCount());
+        assertEquals(0, first.getGcTimeMs());
+    }
+}